@@ -2,9 +2,24 @@ package com.budget.backend.client;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.Map;
 import java.util.Optional;
 
 public interface ExchangeRateClient {
     Optional<BigDecimal> getExchangeRate(String fromCurrency, String toCurrency, LocalDate date);
 
+    /**
+     * Tot tabelul de cursuri pentru o monedă de bază la data dată (base -> X, inclusiv base -> base = 1),
+     * într-un singur apel. Map gol dacă tabelul nu e disponibil.
+     */
+    Map<String, BigDecimal> getExchangeRates(String baseCurrency, LocalDate date);
+
+    /**
+     * Ca getExchangeRate, dar spune și dacă rezultatul e un curs de rezervă (provisional).
+     * Implicit: doar cursuri exacte.
+     */
+    default Optional<RateQuote> getRateQuote(String fromCurrency, String toCurrency, LocalDate date) {
+        return getExchangeRate(fromCurrency, toCurrency, date).map(RateQuote::exact);
+    }
+
 }
@@ -1,76 +1,62 @@
 package com.budget.backend.client;
 
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
 import org.springframework.http.MediaType;
-import org.springframework.http.client.SimpleClientHttpRequestFactory;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.RestClientResponseException;
 import org.springframework.web.client.RestTemplate;
 import tools.jackson.databind.JsonNode;
 import tools.jackson.databind.json.JsonMapper;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
-import java.time.Duration;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 /**
  * Apel REST către Google Gemini generateContent (fără Spring AI).
  * Folosește Jackson 3 ({@link JsonMapper}) — stack-ul implicit din Spring Boot 4.
+ * RestTemplate-ul vine din HttpClientConfig (conexiuni refolosite, read timeout 60s).
  */
 @Component
 public class GeminiClient {
 
     /** Model stabil curent pentru generateContent; 1.5-* poate returna 404 pe API-ul developer. */
     private static final String DEFAULT_MODEL = "gemini-2.5-flash";
+    private static final String DEFAULT_BASE_URL = "https://generativelanguage.googleapis.com";
 
     private final RestTemplate restTemplate;
     private final JsonMapper jsonMapper;
     private final String apiKey;
     private final String model;
+    private final String baseUrl;
 
     public GeminiClient(
+            @Qualifier("geminiRestTemplate") RestTemplate restTemplate,
             JsonMapper jsonMapper,
             @Value("${gemini.api.key:}") String apiKey,
-            @Value("${gemini.api.model:" + DEFAULT_MODEL + "}") String model) {
+            @Value("${gemini.api.model:" + DEFAULT_MODEL + "}") String model,
+            @Value("${gemini.api.base-url:" + DEFAULT_BASE_URL + "}") String baseUrl) {
         this.jsonMapper = jsonMapper;
         this.apiKey = apiKey != null ? apiKey.trim() : "";
         this.model = (model != null && !model.isBlank()) ? model.trim() : DEFAULT_MODEL;
-        SimpleClientHttpRequestFactory factory = new SimpleClientHttpRequestFactory();
-        factory.setConnectTimeout(Duration.ofSeconds(10));
-        factory.setReadTimeout(Duration.ofSeconds(60));
-        this.restTemplate = new RestTemplate(factory);
+        this.baseUrl = (baseUrl != null && !baseUrl.isBlank()) ? baseUrl.trim().replaceAll("/+$", "") : DEFAULT_BASE_URL;
+        this.restTemplate = restTemplate;
     }
 
     public String generateContent(String userPrompt) {
-        if (apiKey.isEmpty() || "YOUR_GEMINI_API_KEY_HERE".equals(apiKey)) {
-            throw new RuntimeException("Gemini API key is not configured. Set gemini.api.key in application.properties.");
-        }
-
-        String keyQ = URLEncoder.encode(apiKey, StandardCharsets.UTF_8);
-        String url = String.format(
-                "https://generativelanguage.googleapis.com/v1beta/models/%s:generateContent?key=%s",
-                model,
-                keyQ
-        );
-
-        Map<String, Object> part = new HashMap<>();
-        part.put("text", userPrompt);
-
-        Map<String, Object> content = new HashMap<>();
-        content.put("parts", List.of(part));
-
-        Map<String, Object> body = new HashMap<>();
-        body.put("contents", List.of(content));
-
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.APPLICATION_JSON);
-
-        HttpEntity<Map<String, Object>> entity = new HttpEntity<>(body, headers);
+        String url = modelUrl("generateContent");
+        HttpEntity<Map<String, Object>> entity = requestEntity(userPrompt);
 
         try {
             String raw = restTemplate.postForObject(url, entity, String.class);
@@ -100,4 +86,93 @@ public class GeminiClient {
             throw new RuntimeException("Failed to call Gemini API: " + e.getMessage(), e);
         }
     }
+
+    /**
+     * Varianta streaming (streamGenerateContent?alt=sse): răspunsul se citește eveniment cu eveniment,
+     * pe măsură ce sosește, și fiecare fragment de text e dat imediat lui onChunk.
+     * Întoarce textul complet, concatenat.
+     */
+    public String streamContent(String userPrompt, Consumer<String> onChunk) {
+        String url = modelUrl("streamGenerateContent") + "&alt=sse";
+        HttpEntity<Map<String, Object>> entity = requestEntity(userPrompt);
+
+        try {
+            String full = restTemplate.execute(url, HttpMethod.POST, restTemplate.httpEntityCallback(entity),
+                    response -> readEvents(response.getBody(), onChunk));
+            if (full == null || full.isBlank()) {
+                throw new RuntimeException("No text in Gemini response");
+            }
+            return full.trim();
+        } catch (RestClientResponseException e) {
+            throw new RuntimeException("Gemini API HTTP error: " + e.getStatusCode() + " — " + e.getResponseBodyAsString(), e);
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to call Gemini API: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Parser SSE minimal: liniile "data:" se adună până la linia goală care încheie evenimentul.
+     */
+    private String readEvents(InputStream body, Consumer<String> onChunk) throws IOException {
+        StringBuilder full = new StringBuilder();
+        StringBuilder data = new StringBuilder();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (line.isEmpty()) {
+                dispatchEvent(data, full, onChunk);
+            } else if (line.startsWith("data:")) {
+                if (!data.isEmpty()) {
+                    data.append('\n');
+                }
+                data.append(line.substring(line.startsWith("data: ") ? 6 : 5));
+            }
+        }
+        dispatchEvent(data, full, onChunk);
+        return full.toString();
+    }
+
+    private void dispatchEvent(StringBuilder data, StringBuilder full, Consumer<String> onChunk) {
+        if (data.isEmpty()) {
+            return;
+        }
+        JsonNode root = jsonMapper.readTree(data.toString());
+        data.setLength(0);
+        if (root.has("error")) {
+            throw new RuntimeException(root.path("error").path("message").asString("Gemini API error"));
+        }
+        for (JsonNode part : root.path("candidates").path(0).path("content").path("parts")) {
+            String text = part.path("text").asString("");
+            if (!text.isEmpty()) {
+                full.append(text);
+                onChunk.accept(text);
+            }
+        }
+    }
+
+    private String modelUrl(String method) {
+        if (apiKey.isEmpty() || "YOUR_GEMINI_API_KEY_HERE".equals(apiKey)) {
+            throw new RuntimeException("Gemini API key is not configured. Set gemini.api.key in application.properties.");
+        }
+        String keyQ = URLEncoder.encode(apiKey, StandardCharsets.UTF_8);
+        return String.format("%s/v1beta/models/%s:%s?key=%s", baseUrl, model, method, keyQ);
+    }
+
+    private static HttpEntity<Map<String, Object>> requestEntity(String userPrompt) {
+        Map<String, Object> part = new HashMap<>();
+        part.put("text", userPrompt);
+
+        Map<String, Object> content = new HashMap<>();
+        content.put("parts", List.of(part));
+
+        Map<String, Object> body = new HashMap<>();
+        body.put("contents", List.of(content));
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+
+        return new HttpEntity<>(body, headers);
+    }
 }
@@ -0,0 +1,144 @@
+package com.budget.backend.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Limită de request-uri simultane per host pentru apelurile de ieșire (Frankfurter, Gemini).
+ *
+ * HttpClient-ul JDK refolosește conexiunile (keep-alive, HTTP/2) dar nu are limită per host și nu expune
+ * starea pool-ului; interceptorul ține un semafor per host și publică în Micrometer:
+ * http.client.pool.active / .pending / .max (gauge) și http.client.pool.rejected (counter), cu tag-ul host.
+ * Un request care nu primește loc în acquireTimeout eșuează cu ResourceAccessException, ca un timeout de conexiune.
+ * Locul se eliberează la închiderea răspunsului, nu la întoarcerea din execute.
+ */
+public class OutboundHttpLimiter implements ClientHttpRequestInterceptor {
+
+    private final int maxPerHost;
+    private final Duration acquireTimeout;
+    private final MeterRegistry meterRegistry;
+    private final ConcurrentMap<String, HostPool> pools = new ConcurrentHashMap<>();
+
+    public OutboundHttpLimiter(int maxPerHost, Duration acquireTimeout, MeterRegistry meterRegistry) {
+        this.maxPerHost = maxPerHost;
+        this.acquireTimeout = acquireTimeout;
+        this.meterRegistry = meterRegistry;
+    }
+
+    private final class HostPool {
+        final Semaphore permits = new Semaphore(maxPerHost, true);
+        final AtomicInteger pending = new AtomicInteger();
+        final Counter rejected;
+
+        HostPool(String host) {
+            Gauge.builder("http.client.pool.active", permits, p -> maxPerHost - p.availablePermits())
+                    .tag("host", host)
+                    .description("Outbound requests currently in flight")
+                    .register(meterRegistry);
+            Gauge.builder("http.client.pool.pending", pending, AtomicInteger::get)
+                    .tag("host", host)
+                    .description("Outbound requests waiting for a free slot")
+                    .register(meterRegistry);
+            Gauge.builder("http.client.pool.max", () -> maxPerHost)
+                    .tag("host", host)
+                    .register(meterRegistry);
+            rejected = Counter.builder("http.client.pool.rejected")
+                    .tag("host", host)
+                    .description("Outbound requests that timed out waiting for a slot")
+                    .register(meterRegistry);
+        }
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        String host = request.getURI().getHost() != null ? request.getURI().getHost() : "unknown";
+        HostPool pool = pools.computeIfAbsent(host, HostPool::new);
+
+        pool.pending.incrementAndGet();
+        boolean acquired;
+        try {
+            acquired = pool.permits.tryAcquire(acquireTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ResourceAccessException("Interrupted while waiting for a connection to " + host);
+        } finally {
+            pool.pending.decrementAndGet();
+        }
+        if (!acquired) {
+            pool.rejected.increment();
+            throw new ResourceAccessException("Outbound connection limit reached for " + host);
+        }
+        try {
+            return new PermitReleasingResponse(execution.execute(request, body), pool.permits);
+        } catch (IOException | RuntimeException e) {
+            pool.permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Locul rămâne ocupat cât se citește body-ul (streaming-ul Gemini îl citește mult după execute)
+     * și se eliberează o singură dată, la close(); RestTemplate închide răspunsul după extractor.
+     */
+    private static final class PermitReleasingResponse implements ClientHttpResponse {
+
+        private final ClientHttpResponse delegate;
+        private final Semaphore permits;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        PermitReleasingResponse(ClientHttpResponse delegate, Semaphore permits) {
+            this.delegate = delegate;
+            this.permits = permits;
+        }
+
+        @Override
+        public HttpStatusCode getStatusCode() throws IOException {
+            return delegate.getStatusCode();
+        }
+
+        @Override
+        public String getStatusText() throws IOException {
+            return delegate.getStatusText();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return delegate.getHeaders();
+        }
+
+        @Override
+        public InputStream getBody() throws IOException {
+            return delegate.getBody();
+        }
+
+        @Override
+        public void close() {
+            try {
+                delegate.close();
+            } finally {
+                if (released.compareAndSet(false, true)) {
+                    permits.release();
+                }
+            }
+        }
+    }
+}
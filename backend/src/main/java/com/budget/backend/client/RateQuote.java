@@ -0,0 +1,18 @@
+package com.budget.backend.client;
+
+import java.math.BigDecimal;
+
+/**
+ * Un curs plus proveniența lui: provisional = nu e cursul cerut, ci ultimul cunoscut pentru pereche
+ * (upstream-ul nu a răspuns).
+ */
+public record RateQuote(BigDecimal rate, boolean provisional) {
+
+    public static RateQuote exact(BigDecimal rate) {
+        return new RateQuote(rate, false);
+    }
+
+    public static RateQuote provisional(BigDecimal rate) {
+        return new RateQuote(rate, true);
+    }
+}
@@ -0,0 +1,299 @@
+package com.budget.backend.client.impl;
+
+import com.budget.backend.client.ExchangeRateClient;
+import com.budget.backend.client.RateQuote;
+import com.budget.backend.entity.ExchangeRate;
+import com.budget.backend.repository.ExchangeRateRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Decorator peste {@link FrankfurterExchangeRateClient}, injectat ca ExchangeRateClient implicit (@Primary).
+ *
+ * Unitatea de cache este tabelul complet de cursuri al unei zile, față de EUR (moneda de referință BCE,
+ * pe care Frankfurter o întoarce nativ). Orice pereche from -> to se derivă local din același tabel,
+ * deci conversiile în N monede pentru aceeași zi costă un singur request upstream.
+ *
+ * Nivel 1: cache în memorie mărginit ca număr de zile. Tabelul „latest” (data de azi sau fără dată)
+ * expiră repede; cele istorice nu expiră, doar pot fi evacuate când cache-ul e plin.
+ * Nivel 2: tabela exchange_rates (rânduri EUR -> X), doar pentru zile trecute, ca să supraviețuiască restartului.
+ * Rândurile se scriu într-o tranzacție proprie (REQUIRES_NEW), cu INSERT ... ON DUPLICATE KEY UPDATE: nu depind
+ * de tranzacția apelantului și o zi salvată simultan de alt thread/altă instanță nu produce erori.
+ * Request-ul upstream și scrierea rulează în afara cache-ului (fără lock pe cheie); în cache intră doar tabelul final.
+ * Ratările (upstream fără tabel pentru zi sau fără moneda cerută) se țin currency.cache.miss-ttl per (zi, monedă),
+ * ca o monedă necunoscută sau un upstream căzut să nu însemne un request la fiecare conversie.
+ *
+ * Upstream-ul e apelat prin {@link ResilientExchangeRateClient}; când nu răspunde, getRateQuote cade pe ultimul
+ * curs cunoscut (provisional) în loc să eșueze.
+ */
+@Component
+@Primary
+public class CachingExchangeRateClient implements ExchangeRateClient {
+
+    static final String REFERENCE_CURRENCY = "EUR";
+
+    /** Cursurile încrucișate sunt calculate cu mai multe zecimale decât au sumele (2) */
+    private static final int CROSS_RATE_SCALE = 10;
+
+    /** Practic „niciodată”: Caffeine limitează intern durata la ~150 de ani */
+    private static final Duration HISTORICAL_TTL = Duration.ofDays(365L * 100);
+
+    /** Cheia „latest”: Caffeine nu acceptă chei null */
+    private static final LocalDate LATEST = LocalDate.MIN;
+
+    /** Moneda din cheia unei ratări a întregului tabel al zilei */
+    private static final String WHOLE_TABLE = "*";
+
+    private record Miss(LocalDate day, String currency) {
+    }
+
+    private static final String INSERT_RATE_SQL = "INSERT INTO exchange_rates "
+            + "(from_currency, to_currency, rate_date, rate, fetched_at) VALUES (?, ?, ?, ?, ?) "
+            + "ON DUPLICATE KEY UPDATE rate = rate";
+
+    private final ResilientExchangeRateClient delegate;
+    private final ExchangeRateRepository exchangeRateRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate requiresNew;
+    private final Cache<LocalDate, Map<String, BigDecimal>> tables;
+    private final Cache<Miss, Boolean> misses;
+
+    /** Ultimul tabel „latest” primit, păstrat și după expirarea din cache: rezerva când upstream-ul cade */
+    private volatile Map<String, BigDecimal> lastKnownLatest;
+
+    public CachingExchangeRateClient(
+            ResilientExchangeRateClient delegate,
+            ExchangeRateRepository exchangeRateRepository,
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            @Value("${currency.cache.max-size:2000}") long maxSize,
+            @Value("${currency.cache.latest-ttl:PT10M}") Duration latestTtl,
+            @Value("${currency.cache.miss-ttl:PT1M}") Duration missTtl) {
+        this.delegate = delegate;
+        this.exchangeRateRepository = exchangeRateRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.requiresNew = new TransactionTemplate(transactionManager);
+        this.requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.tables = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(Expiry.writing((LocalDate day, Map<String, BigDecimal> table) ->
+                        LATEST.equals(day) ? latestTtl : HISTORICAL_TTL))
+                .build();
+        this.misses = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(missTtl)
+                .build();
+    }
+
+    @Override
+    public Optional<BigDecimal> getExchangeRate(String fromCurrency, String toCurrency, LocalDate date) {
+        String from = fromCurrency.toUpperCase();
+        String to = toCurrency.toUpperCase();
+        if (from.equals(to)) {
+            return Optional.of(BigDecimal.ONE);
+        }
+        LocalDate day = cacheKey(date);
+        Optional<BigDecimal> rate = crossRate(tableFor(day), from, to);
+        if (rate.isEmpty() && !LATEST.equals(day) && !knownMissing(day, from, to)) {
+            // Tabelul din DB poate fi incomplet (ex: monedă adăugată ulterior de BCE) -> îl completăm din upstream
+            Map<String, BigDecimal> refreshed = refreshFromUpstream(day);
+            rate = crossRate(refreshed, from, to);
+            if (rate.isEmpty()) {
+                rememberMissing(day, refreshed.isEmpty() ? tableFor(day) : refreshed, from, to);
+            }
+        }
+        return rate;
+    }
+
+    /**
+     * Cursul exact dacă se poate; altfel ultimul curs cunoscut pentru pereche (cel mai recent curs salvat
+     * până la acea dată pentru fiecare monedă sau ultimul „latest”), marcat provisional.
+     */
+    @Override
+    public Optional<RateQuote> getRateQuote(String fromCurrency, String toCurrency, LocalDate date) {
+        Optional<BigDecimal> exact = getExchangeRate(fromCurrency, toCurrency, date);
+        if (exact.isPresent()) {
+            return Optional.of(RateQuote.exact(exact.get()));
+        }
+        return fallbackRate(fromCurrency.toUpperCase(), toCurrency.toUpperCase(), cacheKey(date))
+                .map(RateQuote::provisional);
+    }
+
+    private Optional<BigDecimal> fallbackRate(String from, String to, LocalDate day) {
+        Map<String, BigDecimal> latest = lastKnownLatest;
+        if (LATEST.equals(day) && latest != null) {
+            Optional<BigDecimal> rate = crossRate(latest, from, to);
+            if (rate.isPresent()) {
+                return rate;
+            }
+        }
+        LocalDate upTo = LATEST.equals(day) ? LocalDate.now() : day;
+        // Separat pentru fiecare monedă: ultima zi salvată poate să nu le conțină pe amândouă
+        Optional<BigDecimal> fromRate = storedRate(from, upTo);
+        Optional<BigDecimal> toRate = storedRate(to, upTo);
+        Optional<BigDecimal> stored = fromRate.isPresent() && toRate.isPresent() && fromRate.get().signum() != 0
+                ? Optional.of(divide(toRate.get(), fromRate.get()))
+                : Optional.empty();
+        if (stored.isPresent() || latest == null) {
+            return stored;
+        }
+        return crossRate(latest, from, to);
+    }
+
+    private Optional<BigDecimal> storedRate(String currency, LocalDate upTo) {
+        if (REFERENCE_CURRENCY.equals(currency)) {
+            return Optional.of(BigDecimal.ONE);
+        }
+        return exchangeRateRepository
+                .findFirstByFromCurrencyAndToCurrencyAndRateDateLessThanEqualOrderByRateDateDesc(REFERENCE_CURRENCY, currency, upTo)
+                .map(ExchangeRate::getRate);
+    }
+
+    @Override
+    public Map<String, BigDecimal> getExchangeRates(String baseCurrency, LocalDate date) {
+        String base = baseCurrency.toUpperCase();
+        Map<String, BigDecimal> reference = tableFor(cacheKey(date));
+        BigDecimal baseRate = reference.get(base);
+        if (baseRate == null) {
+            return Map.of();
+        }
+        Map<String, BigDecimal> rebased = new HashMap<>(reference.size());
+        reference.forEach((currency, rate) -> rebased.put(currency, divide(rate, baseRate)));
+        rebased.put(base, BigDecimal.ONE);
+        return rebased;
+    }
+
+    private Map<String, BigDecimal> tableFor(LocalDate day) {
+        Miss wholeTable = new Miss(day, WHOLE_TABLE);
+        if (misses.getIfPresent(wholeTable) != null) {
+            return Map.of();
+        }
+        Map<String, BigDecimal> cached = tables.getIfPresent(day);
+        if (cached != null) {
+            return cached;
+        }
+        // În afara cache-ului: un request lent nu blochează alți cititori ai aceleiași zile
+        Map<String, BigDecimal> table = load(day);
+        if (table == null) {
+            // Eșecul se ține doar miss-ttl, apoi se reîncearcă upstream-ul
+            misses.put(wholeTable, Boolean.TRUE);
+            return Map.of();
+        }
+        // Un tabel pus între timp (ex: completat de refreshFromUpstream) are prioritate
+        Map<String, BigDecimal> existing = tables.asMap().putIfAbsent(day, table);
+        return existing != null ? existing : table;
+    }
+
+    private boolean knownMissing(LocalDate day, String from, String to) {
+        return misses.getIfPresent(new Miss(day, WHOLE_TABLE)) != null
+                || misses.getIfPresent(new Miss(day, from)) != null
+                || misses.getIfPresent(new Miss(day, to)) != null;
+    }
+
+    private void rememberMissing(LocalDate day, Map<String, BigDecimal> table, String from, String to) {
+        for (String currency : List.of(from, to)) {
+            if (!table.containsKey(currency)) {
+                misses.put(new Miss(day, currency), Boolean.TRUE);
+            }
+        }
+    }
+
+    private Map<String, BigDecimal> load(LocalDate day) {
+        if (!LATEST.equals(day)) {
+            List<ExchangeRate> stored = exchangeRateRepository.findByFromCurrencyAndRateDate(REFERENCE_CURRENCY, day);
+            if (!stored.isEmpty()) {
+                Map<String, BigDecimal> table = new HashMap<>();
+                stored.forEach(r -> table.put(r.getToCurrency(), r.getRate()));
+                table.put(REFERENCE_CURRENCY, BigDecimal.ONE);
+                return Map.copyOf(table);
+            }
+        }
+        Map<String, BigDecimal> fetched = delegate.getExchangeRates(REFERENCE_CURRENCY, LATEST.equals(day) ? null : day);
+        if (fetched.isEmpty()) {
+            return null;
+        }
+        Map<String, BigDecimal> table = Map.copyOf(fetched);
+        if (LATEST.equals(day)) {
+            lastKnownLatest = table;
+        } else {
+            persist(day, fetched, Map.of());
+        }
+        return table;
+    }
+
+    private Map<String, BigDecimal> refreshFromUpstream(LocalDate day) {
+        Map<String, BigDecimal> fetched = delegate.getExchangeRates(REFERENCE_CURRENCY, day);
+        if (fetched.isEmpty()) {
+            return Map.of();
+        }
+        Map<String, BigDecimal> known = tableFor(day);
+        persist(day, fetched, known);
+        Map<String, BigDecimal> merged = new HashMap<>(known);
+        merged.putAll(fetched);
+        Map<String, BigDecimal> table = Map.copyOf(merged);
+        tables.put(day, table);
+        return table;
+    }
+
+    /**
+     * Salvează rândurile EUR -> X care nu sunt deja în alreadyStored. Cele salvate între timp de altă instanță
+     * (unique pe pereche + dată) rămân neschimbate.
+     */
+    private void persist(LocalDate day, Map<String, BigDecimal> fetched, Map<String, BigDecimal> alreadyStored) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> rows = new ArrayList<>();
+        fetched.forEach((currency, rate) -> {
+            if (!REFERENCE_CURRENCY.equals(currency) && !alreadyStored.containsKey(currency)) {
+                rows.add(new Object[]{REFERENCE_CURRENCY, currency, Date.valueOf(day), rate, now});
+            }
+        });
+        if (rows.isEmpty()) {
+            return;
+        }
+        try {
+            requiresNew.executeWithoutResult(status -> jdbcTemplate.batchUpdate(INSERT_RATE_SQL, rows));
+        } catch (DataAccessException e) {
+            // Cursul rămâne în memorie; la restart ziua se cere din nou upstream
+        }
+    }
+
+    private static Optional<BigDecimal> crossRate(Map<String, BigDecimal> table, String from, String to) {
+        BigDecimal fromRate = table.get(from);
+        BigDecimal toRate = table.get(to);
+        if (fromRate == null || toRate == null || fromRate.signum() == 0) {
+            return Optional.empty();
+        }
+        return Optional.of(divide(toRate, fromRate));
+    }
+
+    private static BigDecimal divide(BigDecimal dividend, BigDecimal divisor) {
+        return dividend.divide(divisor, CROSS_RATE_SCALE, RoundingMode.HALF_UP).stripTrailingZeros();
+    }
+
+    /** Doar zilele trecute au curs definitiv; azi (sau fără dată) înseamnă „latest”. */
+    private static LocalDate cacheKey(LocalDate date) {
+        return (date != null && date.isBefore(LocalDate.now())) ? date : LATEST;
+    }
+}
@@ -8,6 +8,8 @@ import org.springframework.web.client.RestTemplate;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Optional;
 
 /** Spring creează un bean pentru ExchangeRateClient; fără @Component nu există bean și CurrencyConversionService eșuează. */
@@ -40,4 +42,22 @@ public class FrankfurterExchangeRateClient implements ExchangeRateClient {
         }
         return Optional.empty();
     }
+
+    /** Un singur request întoarce cursurile față de base pentru toate monedele cunoscute de Frankfurter. */
+    @Override
+    public Map<String, BigDecimal> getExchangeRates(String baseCurrency, LocalDate date) {
+        String pathSegment = (date != null) ? "/" + date : "/latest";
+        String url = baseUrl + pathSegment + "?from=" + baseCurrency;
+        try {
+            FrankfurterResponseDTO response = restTemplate.getForObject(url, FrankfurterResponseDTO.class);
+            if (response != null && response.getRates() != null && !response.getRates().isEmpty()) {
+                Map<String, BigDecimal> rates = new HashMap<>(response.getRates());
+                rates.put(baseCurrency, BigDecimal.ONE);
+                return rates;
+            }
+        } catch (Exception e) {
+            // Log and return empty; service layer will handle
+        }
+        return Map.of();
+    }
 }
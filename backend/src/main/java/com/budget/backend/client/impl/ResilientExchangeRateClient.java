@@ -0,0 +1,100 @@
+package com.budget.backend.client.impl;
+
+import com.budget.backend.client.ExchangeRateClient;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Circuit breaker + bulkhead în jurul {@link FrankfurterExchangeRateClient}.
+ *
+ * Frankfurter înghite erorile și întoarce gol, deci un rezultat gol (sau lent) e contorizat ca eșec.
+ * Când breaker-ul e deschis sau bulkhead-ul e plin, apelul întoarce gol imediat, fără să aștepte
+ * read timeout-ul; CachingExchangeRateClient trece atunci la ultimul curs cunoscut.
+ */
+@Component
+public class ResilientExchangeRateClient implements ExchangeRateClient {
+
+    private final FrankfurterExchangeRateClient delegate;
+    private final CircuitBreaker circuitBreaker;
+    private final Bulkhead bulkhead;
+
+    public ResilientExchangeRateClient(
+            FrankfurterExchangeRateClient delegate,
+            @Value("${currency.breaker.failure-rate-threshold:50}") float failureRateThreshold,
+            @Value("${currency.breaker.slow-call-threshold:PT2S}") Duration slowCallThreshold,
+            @Value("${currency.breaker.window-size:20}") int windowSize,
+            @Value("${currency.breaker.open-duration:PT30S}") Duration openDuration,
+            @Value("${currency.bulkhead.max-concurrent-calls:10}") int maxConcurrentCalls,
+            @Value("${currency.bulkhead.max-wait:PT0.1S}") Duration maxWait) {
+        this.delegate = delegate;
+        this.circuitBreaker = CircuitBreaker.of("exchange-rates", CircuitBreakerConfig.custom()
+                .failureRateThreshold(failureRateThreshold)
+                .slowCallRateThreshold(failureRateThreshold)
+                .slowCallDurationThreshold(slowCallThreshold)
+                .slidingWindowSize(windowSize)
+                .minimumNumberOfCalls(Math.min(5, windowSize))
+                .waitDurationInOpenState(openDuration)
+                .permittedNumberOfCallsInHalfOpenState(2)
+                .build());
+        this.bulkhead = Bulkhead.of("exchange-rates", BulkheadConfig.custom()
+                .maxConcurrentCalls(maxConcurrentCalls)
+                .maxWaitDuration(maxWait)
+                .build());
+    }
+
+    @Override
+    public Optional<BigDecimal> getExchangeRate(String fromCurrency, String toCurrency, LocalDate date) {
+        return call(() -> delegate.getExchangeRate(fromCurrency, toCurrency, date), Optional::isEmpty, Optional.empty());
+    }
+
+    @Override
+    public Map<String, BigDecimal> getExchangeRates(String baseCurrency, LocalDate date) {
+        return call(() -> delegate.getExchangeRates(baseCurrency, date), Map::isEmpty, Map.of());
+    }
+
+    public CircuitBreaker.State getState() {
+        return circuitBreaker.getState();
+    }
+
+    private <T> T call(Supplier<T> upstream, Predicate<T> failed, T fallback) {
+        if (!bulkhead.tryAcquirePermission()) {
+            return fallback;
+        }
+        try {
+            if (!circuitBreaker.tryAcquirePermission()) {
+                return fallback;
+            }
+            long start = System.nanoTime();
+            T result;
+            try {
+                result = upstream.get();
+            } catch (RuntimeException e) {
+                circuitBreaker.onError(System.nanoTime() - start, TimeUnit.NANOSECONDS, e);
+                return fallback;
+            }
+            long elapsed = System.nanoTime() - start;
+            if (failed.test(result)) {
+                circuitBreaker.onError(elapsed, TimeUnit.NANOSECONDS,
+                        new IllegalStateException("Exchange-rate upstream returned no data"));
+            } else {
+                circuitBreaker.onSuccess(elapsed, TimeUnit.NANOSECONDS);
+            }
+            return result;
+        } finally {
+            bulkhead.onComplete();
+        }
+    }
+}
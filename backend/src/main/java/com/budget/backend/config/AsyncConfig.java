@@ -0,0 +1,45 @@
+package com.budget.backend.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Executoare dedicate pentru lucrul lung care nu trebuie să țină ocupate thread-urile Tomcat.
+ *
+ * aiAdviceExecutor: apelurile lente către Gemini.
+ * Pool mărginit pe orice JDK: cel mult ai.advice.max-concurrency apeluri simultane, restul așteaptă
+ * în coadă (ai.advice.queue-capacity); peste coadă task-ul e respins și clientul primește 503.
+ */
+@Configuration
+public class AsyncConfig {
+
+    @Bean
+    public AsyncTaskExecutor aiAdviceExecutor(
+            @Value("${ai.advice.max-concurrency:16}") int maxConcurrency,
+            @Value("${ai.advice.queue-capacity:500}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(maxConcurrency);
+        executor.setMaxPoolSize(maxConcurrency);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("ai-advice-");
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Pentru re-conversia în masă la schimbarea monedei de bază: câteva bucăți procesate în paralel,
+     * fiecare cu propria tranzacție și conexiune.
+     */
+    @Bean
+    public AsyncTaskExecutor reconversionExecutor(@Value("${currency.rebase.parallelism:4}") int parallelism) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(parallelism);
+        executor.setMaxPoolSize(parallelism);
+        executor.setThreadNamePrefix("rebase-");
+        executor.initialize();
+        return executor;
+    }
+}
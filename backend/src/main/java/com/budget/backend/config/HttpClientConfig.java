@@ -0,0 +1,73 @@
+package com.budget.backend.config;
+
+import com.budget.backend.client.OutboundHttpLimiter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.restclient.RestTemplateBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+
+/**
+ * Stratul HTTP de ieșire: un singur java.net.http.HttpClient (pool de conexiuni keep-alive, HTTP/2 cu
+ * fallback la HTTP/1.1), partajat de RestTemplate-ul pentru cursuri și de cel pentru Gemini —
+ * diferă doar read timeout-ul. RestTemplateBuilder adaugă observabilitatea (http.client.requests).
+ */
+@Configuration
+public class HttpClientConfig {
+
+    @Bean
+    public HttpClient outboundHttpClient(@Value("${http.client.connect-timeout:PT5S}") Duration connectTimeout) {
+        return HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(connectTimeout)
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .build();
+    }
+
+    @Bean
+    public OutboundHttpLimiter outboundHttpLimiter(
+            @Value("${http.client.max-per-host:20}") int maxPerHost,
+            @Value("${http.client.acquire-timeout:PT5S}") Duration acquireTimeout,
+            MeterRegistry meterRegistry) {
+        return new OutboundHttpLimiter(maxPerHost, acquireTimeout, meterRegistry);
+    }
+
+    /**
+     * Folosit de FrankfurterExchangeRateClient (răspunsuri mici, timeout scurt).
+     */
+    @Bean
+    @Primary
+    public RestTemplate restTemplate(RestTemplateBuilder builder, HttpClient outboundHttpClient,
+                                     OutboundHttpLimiter outboundHttpLimiter,
+                                     @Value("${http.client.read-timeout:PT5S}") Duration readTimeout) {
+        return build(builder, outboundHttpClient, outboundHttpLimiter, readTimeout);
+    }
+
+    /**
+     * Folosit de GeminiClient: generarea poate dura zeci de secunde.
+     */
+    @Bean
+    public RestTemplate geminiRestTemplate(RestTemplateBuilder builder, HttpClient outboundHttpClient,
+                                           OutboundHttpLimiter outboundHttpLimiter,
+                                           @Value("${gemini.api.read-timeout:PT60S}") Duration readTimeout) {
+        return build(builder, outboundHttpClient, outboundHttpLimiter, readTimeout);
+    }
+
+    private static RestTemplate build(RestTemplateBuilder builder, HttpClient httpClient,
+                                      OutboundHttpLimiter limiter, Duration readTimeout) {
+        return builder
+                .requestFactory(() -> {
+                    JdkClientHttpRequestFactory factory = new JdkClientHttpRequestFactory(httpClient);
+                    factory.setReadTimeout(readTimeout);
+                    return factory;
+                })
+                .additionalInterceptors(limiter)
+                .build();
+    }
+}
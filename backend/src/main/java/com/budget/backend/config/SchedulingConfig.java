@@ -0,0 +1,12 @@
+package com.budget.backend.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Activează job-urile @Scheduled (ex: ConversionReconciliationService).
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,35 @@
+package com.budget.backend.config;
+
+import com.budget.backend.entity.Transaction;
+import jakarta.annotation.PostConstruct;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Tranzacțiile aveau inițial id AUTO_INCREMENT (IDENTITY). Tabela transactions_seq creată de Hibernate
+ * pornește de la 1, deci o aliniem peste MAX(id) existent ca să nu refolosim id-uri deja ocupate.
+ * Pe baze cu secvențe native (ex: H2 în teste) tabela nu există și nu avem nimic de făcut.
+ */
+@Component
+@DependsOn("entityManagerFactory") // după ce Hibernate a creat/actualizat schema
+public class TransactionIdSequenceInitializer {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public TransactionIdSequenceInitializer(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @PostConstruct
+    public void alignSequenceWithExistingIds() {
+        try {
+            Long maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM transactions", Long.class);
+            long floor = (maxId != null ? maxId : 0L) + Transaction.ID_ALLOCATION_SIZE + 1;
+            jdbcTemplate.update("UPDATE " + Transaction.ID_SEQUENCE + " SET next_val = ? WHERE next_val < ?", floor, floor);
+        } catch (DataAccessException e) {
+            // Fără tabelă de secvență (secvențe native) — generatorul nu are nevoie de aliniere
+        }
+    }
+}
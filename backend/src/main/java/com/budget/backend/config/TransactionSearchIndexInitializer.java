@@ -0,0 +1,150 @@
+package com.budget.backend.config;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Indexul FULLTEXT pe transactions.description pentru căutare (TransactionSearchService).
+ * JPA nu poate declara un index FULLTEXT, deci ddl-auto=update nu îl creează: îl adăugăm aici, o singură dată
+ * (transactions.search.create-index=true) sau îl creează un administrator înainte de deploy, cu același ALTER.
+ * Primul FULLTEXT pe tabelă o reconstruiește (coloana FTS_DOC_ID, LOCK=SHARED): scrierile în transactions
+ * sunt blocate și pornirea instanței așteaptă cât durează. Pe o tabelă mare, creați-l ca pas separat.
+ * InnoDB îl actualizează singur la fiecare INSERT/UPDATE, în aceeași tranzacție cu rândul.
+ * Pe alte baze (ex: H2 în teste), sau cât indexul lipsește, căutarea folosește REGEXP_LIKE.
+ *
+ * InnoDB nu indexează cuvintele mai scurte de innodb_ft_min_token_size și nici stopword-urile: MATCH pe ele
+ * nu găsește nimic, așa că isIndexed() spune căutării care cuvinte trebuie verificate altfel.
+ */
+@Component
+@DependsOn("entityManagerFactory") // după ce Hibernate a creat/actualizat schema
+public class TransactionSearchIndexInitializer {
+
+    public static final String INDEX_NAME = "ft_transactions_description";
+
+    /** Lock MySQL (GET_LOCK) pe numele indexului: o singură instanță rulează ALTER-ul */
+    private static final String CREATE_LOCK = "budget." + INDEX_NAME;
+
+    /** INFORMATION_SCHEMA.INNODB_FT_DEFAULT_STOPWORD; înlocuită cu lista serverului când se poate citi */
+    static final Set<String> INNODB_DEFAULT_STOPWORDS = Set.of("a", "about", "an", "are", "as", "at", "be", "by",
+            "com", "de", "en", "for", "from", "how", "i", "in", "is", "it", "la", "of", "on", "or", "that", "the",
+            "this", "to", "was", "what", "when", "where", "who", "will", "with", "und", "www");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean fullTextEnabled;
+    private final boolean createIndex;
+    private volatile boolean fullTextAvailable;
+    private volatile int minTokenSize = 3;
+    private volatile Set<String> stopwords = INNODB_DEFAULT_STOPWORDS;
+
+    public TransactionSearchIndexInitializer(JdbcTemplate jdbcTemplate,
+                                             @Value("${transactions.search.fulltext:true}") boolean fullTextEnabled,
+                                             @Value("${transactions.search.create-index:true}") boolean createIndex) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.fullTextEnabled = fullTextEnabled;
+        this.createIndex = createIndex;
+    }
+
+    @PostConstruct
+    public void ensureFullTextIndex() {
+        if (!fullTextEnabled) {
+            return;
+        }
+        try {
+            String product = jdbcTemplate.execute((ConnectionCallback<String>) c -> c.getMetaData().getDatabaseProductName());
+            if (product == null || !product.toLowerCase(Locale.ROOT).contains("mysql")) {
+                return;
+            }
+            if (!indexExists() && !(createIndex && createIndexOnce())) {
+                // Index lipsă sau creat acum de altă instanță: fallback până la următoarea pornire
+                fullTextAvailable = false;
+                return;
+            }
+            readTokenSettings();
+            fullTextAvailable = true;
+        } catch (DataAccessException e) {
+            // Fără index căutarea rămâne funcțională, doar mai lentă (REGEXP_LIKE)
+            fullTextAvailable = false;
+        }
+    }
+
+    private boolean indexExists() {
+        Integer existing = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM information_schema.statistics "
+                        + "WHERE table_schema = DATABASE() AND table_name = 'transactions' AND index_name = ?",
+                Integer.class, INDEX_NAME);
+        return existing != null && existing > 0;
+    }
+
+    /**
+     * GET_LOCK și ALTER-ul pe aceeași conexiune (lock-ul e al sesiunii). Fără așteptare: dacă altă instanță
+     * construiește deja indexul, aceasta pornește imediat, cu fallback-ul, în loc să stea după tabela blocată.
+     * Existența se verifică din nou sub lock, pentru instanța care l-a terminat între timp.
+     */
+    private boolean createIndexOnce() {
+        Boolean created = jdbcTemplate.execute((ConnectionCallback<Boolean>) connection -> {
+            try (Statement statement = connection.createStatement()) {
+                try (ResultSet lock = statement.executeQuery("SELECT GET_LOCK('" + CREATE_LOCK + "', 0)")) {
+                    if (!lock.next() || lock.getInt(1) != 1) {
+                        return false;
+                    }
+                }
+                try {
+                    if (!indexExists()) {
+                        statement.execute("ALTER TABLE transactions ADD FULLTEXT INDEX " + INDEX_NAME + " (description)");
+                    }
+                    return true;
+                } finally {
+                    statement.execute("DO RELEASE_LOCK('" + CREATE_LOCK + "')");
+                }
+            }
+        });
+        return Boolean.TRUE.equals(created);
+    }
+
+    public boolean isFullTextAvailable() {
+        return fullTextAvailable;
+    }
+
+    /** true dacă indexul FULLTEXT conține cuvântul (litere mici), deci MATCH ... AGAINST îl poate găsi */
+    public boolean isIndexed(String term) {
+        return term.length() >= minTokenSize && !stopwords.contains(term);
+    }
+
+    private void readTokenSettings() {
+        Integer size = jdbcTemplate.queryForObject("SELECT @@innodb_ft_min_token_size", Integer.class);
+        if (size != null) {
+            minTokenSize = size;
+        }
+        try {
+            Boolean enabled = jdbcTemplate.queryForObject("SELECT @@innodb_ft_enable_stopword", Boolean.class);
+            String table = jdbcTemplate.queryForObject("SELECT @@innodb_ft_server_stopword_table", String.class);
+            if (Boolean.FALSE.equals(enabled)) {
+                stopwords = Set.of();
+            } else if (table == null || table.isBlank()) {
+                stopwords = loadStopwords("INFORMATION_SCHEMA.INNODB_FT_DEFAULT_STOPWORD");
+            } else {
+                // Format "db/tabel"
+                stopwords = loadStopwords("`" + table.replace("`", "").replace("/", "`.`") + "`");
+            }
+        } catch (DataAccessException e) {
+            // Rămâne lista implicită InnoDB
+        }
+    }
+
+    private Set<String> loadStopwords(String table) {
+        return jdbcTemplate.queryForList("SELECT value FROM " + table, String.class).stream()
+                .map(word -> word.toLowerCase(Locale.ROOT))
+                .collect(Collectors.toUnmodifiableSet());
+    }
+}
@@ -1,8 +1,11 @@
 package com.budget.backend.controller;
 
+import com.budget.backend.dto.request.ChangeBaseCurrencyRequestDTO;
 import com.budget.backend.dto.request.LoginRequestDTO;
 import com.budget.backend.dto.request.RegisterRequestDTO;
 import com.budget.backend.dto.response.AuthResponseDTO;
+import com.budget.backend.dto.response.BaseCurrencyChangeJobDTO;
+import com.budget.backend.service.BaseCurrencyChangeService;
 import com.budget.backend.service.UserService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -15,6 +18,8 @@ import org.springframework.web.bind.annotation.RestController;
 import com.budget.backend.dto.request.UpdateProfileRequestDTO;
 import com.budget.backend.security.SecurityUtils;
 import org.springframework.security.access.AccessDeniedException;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PutMapping;
 
 /**
@@ -33,6 +38,9 @@ public class AuthController {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private BaseCurrencyChangeService baseCurrencyChangeService;
+
     @PostMapping("/register")
     public ResponseEntity<AuthResponseDTO> register(@Valid @RequestBody RegisterRequestDTO request) {
         AuthResponseDTO response = userService.register(request);
@@ -56,4 +64,30 @@ public class AuthController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Schimbă moneda de bază; re-conversia tranzacțiilor rulează în fundal (202 + job pentru progres).
+     */
+    @PutMapping("/profile/base-currency")
+    public ResponseEntity<BaseCurrencyChangeJobDTO> changeBaseCurrency(
+            @Valid @RequestBody ChangeBaseCurrencyRequestDTO request) {
+        Long userId = requireUserId();
+        BaseCurrencyChangeService.Job job = baseCurrencyChangeService.changeBaseCurrency(userId, request.getBaseCurrency());
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(baseCurrencyChangeService.toDTO(job));
+    }
+
+    @GetMapping("/profile/base-currency/jobs/{jobId}")
+    public ResponseEntity<BaseCurrencyChangeJobDTO> getBaseCurrencyChangeJob(@PathVariable String jobId) {
+        BaseCurrencyChangeService.Job job = baseCurrencyChangeService.findJob(jobId, requireUserId())
+                .orElseThrow(() -> new RuntimeException("Base currency change job not found"));
+        return ResponseEntity.ok(baseCurrencyChangeService.toDTO(job));
+    }
+
+    private static Long requireUserId() {
+        Long userId = SecurityUtils.getCurrentUserId();
+        if (userId == null) {
+            throw new AccessDeniedException("Not authenticated");
+        }
+        return userId;
+    }
+
 }
\ No newline at end of file
@@ -0,0 +1,56 @@
+package com.budget.backend.controller;
+
+import com.budget.backend.dto.request.BudgetRequestDTO;
+import com.budget.backend.dto.response.BudgetStatusDTO;
+import com.budget.backend.security.SecurityUtils;
+import com.budget.backend.service.BudgetService;
+import jakarta.validation.Valid;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/budgets")
+public class BudgetController {
+    private final BudgetService budgetService;
+
+    public BudgetController(BudgetService budgetService) {
+        this.budgetService = budgetService;
+    }
+
+    /**
+     * Starea tuturor bugetelor pentru luna care conține month (implicit luna curentă).
+     */
+    @GetMapping("/status")
+    public ResponseEntity<List<BudgetStatusDTO>> getStatus(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate month) {
+        Long userId = requireUserId();
+        return ResponseEntity.ok(budgetService.getStatus(userId, month != null ? month : LocalDate.now()));
+    }
+
+    @PutMapping("/{categoryId}")
+    public ResponseEntity<BudgetStatusDTO> setBudget(@PathVariable Long categoryId,
+                                                     @Valid @RequestBody BudgetRequestDTO request) {
+        Long userId = requireUserId();
+        return ResponseEntity.ok(budgetService.setBudget(userId, categoryId, request));
+    }
+
+    @DeleteMapping("/{categoryId}")
+    public ResponseEntity<Void> deleteBudget(@PathVariable Long categoryId) {
+        Long userId = requireUserId();
+        budgetService.deleteBudget(userId, categoryId);
+        return ResponseEntity.noContent().build();
+    }
+
+    private static Long requireUserId() {
+        Long userId = SecurityUtils.getCurrentUserId();
+        if (userId == null) {
+            throw new AccessDeniedException("Not authenticated");
+        }
+        return userId;
+    }
+}
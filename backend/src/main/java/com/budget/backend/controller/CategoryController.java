@@ -4,22 +4,40 @@ import com.budget.backend.entity.Category;
 import com.budget.backend.entity.TransactionType;
 import com.budget.backend.service.CategoryService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
+import java.time.Duration;
 import java.util.List;
 
 @RestController
 @RequestMapping("/api/categories")
 public class CategoryController {
+    /** Clientul poate refolosi lista 5 minute, apoi o revalidează cu If-None-Match */
+    private static final CacheControl CATALOG_CACHE = CacheControl.maxAge(Duration.ofMinutes(5)).cachePrivate();
+
     @Autowired
     private CategoryService categoryService;
+
+    /**
+     * Servit din CategoryRegistry; ETag = versiunea catalogului (+ filtrul), deci un If-None-Match
+     * care se potrivește primește 304 fără corp.
+     */
     @GetMapping
     public ResponseEntity<List<Category>> getAllCategories(
-            @RequestParam(required = false) TransactionType type) {
+            @RequestParam(required = false) TransactionType type,
+            WebRequest webRequest) {
+
+        String etag = "\"" + categoryService.getCatalogVersion() + (type != null ? "-" + type.name() : "") + "\"";
+        if (webRequest.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(CATALOG_CACHE).build();
+        }
 
         List<Category> categories;
         if (type != null) {
@@ -30,6 +48,6 @@ public class CategoryController {
             categories = categoryService.getAllCategories();
         }
 
-        return ResponseEntity.ok(categories);
+        return ResponseEntity.ok().eTag(etag).cacheControl(CATALOG_CACHE).body(categories);
     }
 }
@@ -1,15 +1,19 @@
 package com.budget.backend.controller;
 
 import com.budget.backend.dto.response.DashboardStatisticsDTO;
+import com.budget.backend.dto.response.TimeSeriesDTO;
 import com.budget.backend.security.SecurityUtils;
 import com.budget.backend.service.DashboardService;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.time.LocalDate;
 import java.time.YearMonth;
+import java.util.Locale;
 
 @RestController
 @RequestMapping("/api/dashboard")
@@ -32,4 +36,30 @@ public class DashboardController {
         LocalDate end = to != null ? to : YearMonth.now().atEndOfMonth();
         return ResponseEntity.ok(dashboardService.getStatistics(userId, start, end));
     }
+
+    /**
+     * Seria pentru grafice (granularity = day, week sau month); implicit ultimele 12 luni, pe luni.
+     */
+    @GetMapping("/timeseries")
+    public ResponseEntity<TimeSeriesDTO> getTimeSeries(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "month") String granularity) {
+        Long userId = SecurityUtils.getCurrentUserId();
+        if (userId == null) {
+            throw new AccessDeniedException("Not authenticated");
+        }
+        DashboardService.Granularity bucket;
+        try {
+            bucket = DashboardService.Granularity.valueOf(granularity.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unsupported granularity: " + granularity);
+        }
+        LocalDate end = to != null ? to : YearMonth.now().atEndOfMonth();
+        LocalDate start = from != null ? from : YearMonth.from(end).minusMonths(11).atDay(1);
+        if (end.isBefore(start)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "End date must be on or after start date");
+        }
+        return ResponseEntity.ok(dashboardService.getTimeSeries(userId, start, end, bucket));
+    }
 }
@@ -0,0 +1,56 @@
+package com.budget.backend.controller;
+
+import com.budget.backend.dto.request.RecurringTransactionRequestDTO;
+import com.budget.backend.dto.response.RecurringTransactionResponseDTO;
+import com.budget.backend.security.SecurityUtils;
+import com.budget.backend.service.RecurringTransactionService;
+import jakarta.validation.Valid;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/recurring-transactions")
+public class RecurringTransactionController {
+    private final RecurringTransactionService recurringTransactionService;
+
+    public RecurringTransactionController(RecurringTransactionService recurringTransactionService) {
+        this.recurringTransactionService = recurringTransactionService;
+    }
+
+    @GetMapping
+    public ResponseEntity<List<RecurringTransactionResponseDTO>> getAll() {
+        return ResponseEntity.ok(recurringTransactionService.getAll(requireUserId()));
+    }
+
+    @PostMapping
+    public ResponseEntity<RecurringTransactionResponseDTO> create(@Valid @RequestBody RecurringTransactionRequestDTO request) {
+        Long userId = requireUserId();
+        return ResponseEntity.status(HttpStatus.CREATED).body(recurringTransactionService.create(userId, request));
+    }
+
+    @PutMapping("/{id}")
+    public ResponseEntity<RecurringTransactionResponseDTO> update(@PathVariable Long id,
+                                                                  @Valid @RequestBody RecurringTransactionRequestDTO request) {
+        Long userId = requireUserId();
+        return ResponseEntity.ok(recurringTransactionService.update(userId, id, request));
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> delete(@PathVariable Long id) {
+        Long userId = requireUserId();
+        recurringTransactionService.delete(userId, id);
+        return ResponseEntity.noContent().build();
+    }
+
+    private static Long requireUserId() {
+        Long userId = SecurityUtils.getCurrentUserId();
+        if (userId == null) {
+            throw new AccessDeniedException("Not authenticated");
+        }
+        return userId;
+    }
+}
@@ -1,46 +1,142 @@
 package com.budget.backend.controller;
 
-import com.budget.backend.client.GeminiClient;
 import com.budget.backend.dto.request.AiAdviceRequestDTO;
+import com.budget.backend.dto.response.AiAdviceJobDTO;
 import com.budget.backend.dto.response.AiAdviceResponseDTO;
 import com.budget.backend.security.SecurityUtils;
-import com.budget.backend.service.FinancialReportService;
+import com.budget.backend.service.AiAdviceService;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 @RestController
 @RequestMapping("/api/reports")
 public class ReportController {
 
-    private final FinancialReportService financialReportService;
-    private final GeminiClient geminiClient;
+    /** Cât ține deschisă o conexiune SSE; peste read timeout-ul Gemini (60s) */
+    private static final long SSE_TIMEOUT_MS = 90_000L;
+
+    private final AiAdviceService aiAdviceService;
 
-    public ReportController(FinancialReportService financialReportService, GeminiClient geminiClient) {
-        this.financialReportService = financialReportService;
-        this.geminiClient = geminiClient;
+    public ReportController(AiAdviceService aiAdviceService) {
+        this.aiAdviceService = aiAdviceService;
     }
 
+    /**
+     * Contractul vechi (răspuns cu adviceText), dar servit async: thread-ul Tomcat e eliberat
+     * cât timp job-ul așteaptă Gemini.
+     */
     @PostMapping("/ai-advice")
-    public ResponseEntity<AiAdviceResponseDTO> getAiAdvice(@Valid @RequestBody AiAdviceRequestDTO request) {
-        Long userId = SecurityUtils.getCurrentUserId();
-        if (userId == null) {
-            throw new AccessDeniedException("Not authenticated");
-        }
+    public CompletableFuture<ResponseEntity<AiAdviceResponseDTO>> getAiAdvice(@Valid @RequestBody AiAdviceRequestDTO request) {
+        AiAdviceService.Job job = submit(request);
+        return job.result().thenApply(advice -> ResponseEntity.ok(new AiAdviceResponseDTO(advice)));
+    }
+
+    /**
+     * Pornește un job și întoarce imediat id-ul; rezultatul se ia prin polling sau SSE.
+     */
+    @PostMapping("/ai-advice/jobs")
+    public ResponseEntity<AiAdviceJobDTO> createAiAdviceJob(@Valid @RequestBody AiAdviceRequestDTO request) {
+        AiAdviceService.Job job = submit(request);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(aiAdviceService.toDTO(job));
+    }
+
+    @GetMapping("/ai-advice/jobs/{jobId}")
+    public ResponseEntity<AiAdviceJobDTO> getAiAdviceJob(@PathVariable String jobId) {
+        return ResponseEntity.ok(aiAdviceService.toDTO(findJob(jobId)));
+    }
+
+    /**
+     * SSE: un eveniment "status" imediat, apoi "result" când job-ul se termină.
+     */
+    @GetMapping(value = "/ai-advice/jobs/{jobId}/events", produces = "text/event-stream")
+    public SseEmitter streamAiAdviceJob(@PathVariable String jobId) throws IOException {
+        AiAdviceService.Job job = findJob(jobId);
+        SseEmitter emitter = new SseEmitter(SSE_TIMEOUT_MS);
+        emitter.send(SseEmitter.event().name("status").data(aiAdviceService.toDTO(job)));
+        job.result().whenComplete((advice, error) -> {
+            try {
+                emitter.send(SseEmitter.event().name("result").data(aiAdviceService.toDTO(job)));
+                emitter.complete();
+            } catch (IOException | IllegalStateException e) {
+                // Clientul a închis conexiunea sau emitter-ul a expirat; job-ul rămâne disponibil prin polling
+                emitter.completeWithError(e);
+            }
+        });
+        return emitter;
+    }
+
+    /**
+     * Sfatul AI relayat fragment cu fragment: evenimente "chunk" (text), apoi "done" sau "error".
+     * Primul fragment ajunge la browser imediat ce îl produce Gemini, nu după generarea completă.
+     */
+    @PostMapping(value = "/ai-advice/stream", produces = "text/event-stream")
+    public SseEmitter streamAiAdvice(@Valid @RequestBody AiAdviceRequestDTO request) {
+        Long userId = requireUserId();
+        validateRange(request);
+        SseEmitter emitter = new SseEmitter(SSE_TIMEOUT_MS);
+        aiAdviceService.streamAdvice(userId, request.getFrom(), request.getTo(), chunk -> {
+            try {
+                emitter.send(SseEmitter.event().name("chunk").data(chunk));
+            } catch (IOException e) {
+                // Clientul s-a deconectat: oprim citirea de la Gemini
+                throw new UncheckedIOException(e);
+            }
+        }).whenComplete((advice, error) -> {
+            try {
+                if (error == null) {
+                    emitter.send(SseEmitter.event().name("done").data(""));
+                } else {
+                    Throwable cause = error instanceof CompletionException && error.getCause() != null
+                            ? error.getCause() : error;
+                    emitter.send(SseEmitter.event().name("error")
+                            .data(cause.getMessage() != null ? cause.getMessage() : "AI advice failed"));
+                }
+                emitter.complete();
+            } catch (IOException | IllegalStateException e) {
+                emitter.completeWithError(e);
+            }
+        });
+        return emitter;
+    }
 
+    private AiAdviceService.Job submit(AiAdviceRequestDTO request) {
+        Long userId = requireUserId();
+        validateRange(request);
+        return aiAdviceService.submit(userId, request.getFrom(), request.getTo());
+    }
+
+    private static void validateRange(AiAdviceRequestDTO request) {
         if (request.getTo().isBefore(request.getFrom())) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
                     "End date must be on or after start date");
         }
+    }
 
-        String prompt = financialReportService.buildAiPrompt(userId, request.getFrom(), request.getTo());
-        String advice = geminiClient.generateContent(prompt);
-        return ResponseEntity.ok(new AiAdviceResponseDTO(advice));
+    private AiAdviceService.Job findJob(String jobId) {
+        return aiAdviceService.findJob(jobId, requireUserId())
+                .orElseThrow(() -> new RuntimeException("AI advice job not found"));
+    }
+
+    private static Long requireUserId() {
+        Long userId = SecurityUtils.getCurrentUserId();
+        if (userId == null) {
+            throw new AccessDeniedException("Not authenticated");
+        }
+        return userId;
     }
 }
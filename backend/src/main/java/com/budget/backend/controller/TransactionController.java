@@ -1,16 +1,27 @@
 package com.budget.backend.controller;
 
 import com.budget.backend.dto.request.CreateTransactionDTO;
+import com.budget.backend.dto.request.TransactionSearchDTO;
+import com.budget.backend.dto.response.ImportResultDTO;
+import com.budget.backend.dto.response.TransactionPageDTO;
 import com.budget.backend.dto.response.TransactionResponseDTO;
 import com.budget.backend.security.SecurityUtils;
+import com.budget.backend.service.TransactionExportService;
+import com.budget.backend.service.TransactionImportService;
+import com.budget.backend.service.TransactionSearchService;
 import com.budget.backend.service.TransactionService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.InputStream;
 import java.util.List;
 
 @RestController
@@ -19,6 +30,15 @@ public class TransactionController {
 
     @Autowired
     private TransactionService transactionService;
+
+    @Autowired
+    private TransactionImportService transactionImportService;
+
+    @Autowired
+    private TransactionExportService transactionExportService;
+
+    @Autowired
+    private TransactionSearchService transactionSearchService;
     @PostMapping
     public ResponseEntity<TransactionResponseDTO> createTransaction(
             @Valid @RequestBody CreateTransactionDTO request) {
@@ -26,12 +46,69 @@ public class TransactionController {
         TransactionResponseDTO response = transactionService.createTransaction(request, userId);
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
+    /**
+     * Import în masă dintr-un array JSON cu același format ca la POST /api/transactions.
+     * Rândurile invalide apar în errors; restul se salvează.
+     */
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ImportResultDTO> importTransactions(
+            @RequestBody List<CreateTransactionDTO> request) {
+        Long userId = requireUserId();
+        return ResponseEntity.ok(transactionImportService.importTransactions(userId, request));
+    }
+    /**
+     * Import în masă din CSV (UTF-8): date,description,amount,currency,category — category poate fi id sau nume.
+     */
+    @PostMapping(value = "/import", consumes = "text/csv")
+    public ResponseEntity<ImportResultDTO> importTransactionsCsv(InputStream csv) {
+        Long userId = requireUserId();
+        return ResponseEntity.ok(transactionImportService.importCsv(userId, csv));
+    }
     @GetMapping
     public ResponseEntity<List<TransactionResponseDTO>> getAllTransactions() {
         Long userId = requireUserId();
         List<TransactionResponseDTO> transactions = transactionService.getAllTransactions(userId);
         return ResponseEntity.ok(transactions);
     }
+    /**
+     * Listare paginată: GET /api/transactions/page?size=50, apoi &cursor=&lt;nextCursor&gt; până la hasMore=false.
+     */
+    @GetMapping("/page")
+    public ResponseEntity<TransactionPageDTO> getTransactionsPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        Long userId = requireUserId();
+        return ResponseEntity.ok(transactionService.getTransactionsPage(userId, cursor, size));
+    }
+    /**
+     * Căutare: GET /api/transactions/search?q=netflix&from=2025-01-01&to=2025-12-31&categoryId=&minAmount=&maxAmount=,
+     * paginată ca /page (size, cursor).
+     */
+    @GetMapping("/search")
+    public ResponseEntity<TransactionPageDTO> searchTransactions(
+            @Valid @ModelAttribute TransactionSearchDTO filter,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        Long userId = requireUserId();
+        return ResponseEntity.ok(transactionSearchService.search(userId, filter, cursor, size));
+    }
+    /**
+     * Export complet, scris incremental: GET /api/transactions/export?format=csv|ndjson.
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportTransactions(
+            @RequestParam(defaultValue = "csv") String format) {
+        Long userId = requireUserId();
+        TransactionExportService.ExportFormat exportFormat = TransactionExportService.ExportFormat.parse(format);
+        StreamingResponseBody body = out -> transactionExportService.export(userId, exportFormat, out);
+        return ResponseEntity.ok()
+                .contentType(exportFormat.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("transactions." + exportFormat.getExtension())
+                        .build()
+                        .toString())
+                .body(body);
+    }
     @GetMapping("/{id}")
     public ResponseEntity<TransactionResponseDTO> getTransactionById(
             @PathVariable Long id) {
@@ -0,0 +1,27 @@
+package com.budget.backend.dto.request;
+
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BudgetRequestDTO {
+
+    /** Limita lunară, în moneda de bază a utilizatorului */
+    @NotNull(message = "Monthly limit is required")
+    @DecimalMin(value = "0.01", message = "Monthly limit must be at least 0.01")
+    private BigDecimal monthlyLimit;
+
+    /** Implicit 80 */
+    @Min(value = 1, message = "Alert threshold must be between 1 and 100")
+    @Max(value = 100, message = "Alert threshold must be between 1 and 100")
+    private Integer alertThresholdPercent;
+}
@@ -0,0 +1,16 @@
+package com.budget.backend.dto.request;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChangeBaseCurrencyRequestDTO {
+    @NotBlank(message = "Base currency is required")
+    @Pattern(regexp = "[A-Za-z]{3}", message = "Base currency must be a 3-letter ISO 4217 code")
+    private String baseCurrency;
+}
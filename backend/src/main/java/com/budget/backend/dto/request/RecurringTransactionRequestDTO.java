@@ -0,0 +1,52 @@
+package com.budget.backend.dto.request;
+
+import com.budget.backend.entity.RecurrenceFrequency;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecurringTransactionRequestDTO {
+
+    @NotBlank(message = "Description is required")
+    @Size(max = 255, message = "Description must not exceed 255 characters")
+    private String description;
+
+    @NotNull(message = "Amount is required")
+    @DecimalMin(value = "0.01", message = "Amount must be at least 0.01")
+    private BigDecimal amount;
+
+    @NotBlank(message = "Currency is required")
+    @Size(min = 3, max = 3, message = "Currency must be 3 characters (ISO 4217 code)")
+    private String currency;
+
+    @NotNull(message = "Category ID is required")
+    private Long categoryId;
+
+    /** DAILY, WEEKLY, MONTHLY sau YEARLY */
+    @NotNull(message = "Frequency is required")
+    private RecurrenceFrequency frequency;
+
+    /** Implicit 1 (ex: MONTHLY + 3 = trimestrial) */
+    @Min(value = 1, message = "Interval must be between 1 and 366")
+    @Max(value = 366, message = "Interval must be between 1 and 366")
+    private Integer intervalCount;
+
+    /** Data primei apariții; o dată din trecut generează și aparițiile deja scadente */
+    @NotNull(message = "Start date is required")
+    private LocalDate startDate;
+
+    /** Inclusiv; lipsă = fără sfârșit */
+    private LocalDate endDate;
+}
@@ -0,0 +1,36 @@
+package com.budget.backend.dto.request;
+
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Filtrele pentru GET /api/transactions/search (toate opționale, combinate cu AND).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransactionSearchDTO {
+
+    /** Cuvinte din descriere; fiecare trebuie să apară, ca prefix ("abon" găsește "abonament") */
+    @Size(max = 200, message = "Search query must not exceed 200 characters")
+    private String q;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate from;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate to;
+
+    private Long categoryId;
+
+    /** Limitele sumei, în moneda de bază (ca totalurile din dashboard), inclusiv */
+    private BigDecimal minAmount;
+
+    private BigDecimal maxAmount;
+}
@@ -0,0 +1,20 @@
+package com.budget.backend.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Starea unui job de sfaturi AI: PENDING până răspunde Gemini, apoi DONE (cu adviceText) sau FAILED (cu error).
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AiAdviceJobDTO {
+    private String jobId;
+    private String status;
+    private String adviceText;
+    private String error;
+}
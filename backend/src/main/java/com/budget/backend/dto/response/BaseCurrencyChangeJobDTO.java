@@ -0,0 +1,26 @@
+package com.budget.backend.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Progresul schimbării monedei de bază: status RUNNING / DONE / FAILED.
+ * pendingTransactions = rânduri fără curs disponibil acum; le completează worker-ul de conversie.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BaseCurrencyChangeJobDTO {
+    private String jobId;
+    private String status;
+    private String fromCurrency;
+    private String toCurrency;
+    private long totalTransactions;
+    private long processedTransactions;
+    private long pendingTransactions;
+    private int percent;
+    private String error;
+}
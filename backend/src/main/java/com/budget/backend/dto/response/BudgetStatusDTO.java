@@ -0,0 +1,28 @@
+package com.budget.backend.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Starea bugetului unei categorii într-o lună: status OK, WARNING (peste pragul de avertizare) sau EXCEEDED (peste limită).
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BudgetStatusDTO {
+    private Long categoryId;
+    private String categoryName;
+    private LocalDate monthStart;
+    private BigDecimal monthlyLimit;
+    private BigDecimal spent;
+    private BigDecimal remaining;
+    private int percentUsed;
+    private int alertThresholdPercent;
+    private String status;
+}
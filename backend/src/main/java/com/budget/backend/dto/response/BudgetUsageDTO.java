@@ -0,0 +1,20 @@
+package com.budget.backend.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Un buget împreună cu cheltuiala lunii din rollup (proiecție din CategoryBudgetRepository).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BudgetUsageDTO {
+    private Long categoryId;
+    private BigDecimal monthlyLimit;
+    private int alertThresholdPercent;
+    private BigDecimal spent;
+}
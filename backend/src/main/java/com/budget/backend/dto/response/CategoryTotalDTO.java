@@ -0,0 +1,21 @@
+package com.budget.backend.dto.response;
+
+import com.budget.backend.entity.TransactionType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Un rând din agregarea dashboard-ului: totalul (în moneda de bază) pe o categorie, împreună cu tipul ei.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CategoryTotalDTO {
+    private TransactionType type;
+    private Long categoryId;
+    private String categoryName;
+    private BigDecimal totalAmount;
+}
@@ -0,0 +1,23 @@
+package com.budget.backend.dto.response;
+
+import com.budget.backend.entity.TransactionType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Un rând din agregarea pentru seriile de timp: totalul (în moneda de bază) pe o zi și o categorie.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DailyCategoryTotalDTO {
+    private LocalDate date;
+    private TransactionType type;
+    private Long categoryId;
+    private String categoryName;
+    private BigDecimal totalAmount;
+}
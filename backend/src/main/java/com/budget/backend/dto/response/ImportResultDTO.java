@@ -0,0 +1,21 @@
+package com.budget.backend.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Rezultatul unui import în masă: rândurile invalide sunt raportate individual, fără a opri restul importului.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportResultDTO {
+    private int totalRows;
+    private int imported;
+    private List<ImportRowErrorDTO> errors;
+}
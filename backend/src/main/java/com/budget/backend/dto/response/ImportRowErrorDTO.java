@@ -0,0 +1,14 @@
+package com.budget.backend.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportRowErrorDTO {
+    /** Numărul rândului în input (1 = primul element JSON / primul rând de date CSV, după header) */
+    private int row;
+    private String message;
+}
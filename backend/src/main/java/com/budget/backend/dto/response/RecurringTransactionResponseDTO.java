@@ -0,0 +1,31 @@
+package com.budget.backend.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Un șablon recurent; nextRunDate = null înseamnă că regula s-a încheiat (după endDate).
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecurringTransactionResponseDTO {
+    private Long id;
+    private String description;
+    private BigDecimal amount;
+    private String currency;
+    private Long categoryId;
+    private String categoryName;
+    private String frequency;
+    private int intervalCount;
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private LocalDate lastRunDate;
+    private LocalDate nextRunDate;
+}
@@ -0,0 +1,20 @@
+package com.budget.backend.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TimeSeriesDTO {
+    private String granularity;
+    private LocalDate from;
+    private LocalDate to;
+    private List<TimeSeriesPointDTO> points;
+}
@@ -0,0 +1,26 @@
+package com.budget.backend.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Un punct din serie: totalurile unei perioade (zi, săptămână sau lună), tăiate la capetele intervalului cerut.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TimeSeriesPointDTO {
+    private LocalDate periodStart;
+    private LocalDate periodEnd;
+    private BigDecimal totalIncome;
+    private BigDecimal totalExpense;
+    private BigDecimal balance;
+    private List<CategoryTotalDTO> categories;
+}
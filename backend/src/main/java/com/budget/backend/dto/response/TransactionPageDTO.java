@@ -0,0 +1,22 @@
+package com.budget.backend.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * O pagină din listarea tranzacțiilor. nextCursor se trimite înapoi ca ?cursor= pentru pagina următoare;
+ * este null când nu mai există tranzacții.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransactionPageDTO {
+    private List<TransactionResponseDTO> items;
+    private String nextCursor;
+    private boolean hasMore;
+}
@@ -1,5 +1,8 @@
 package com.budget.backend.dto.response;
 
+import com.budget.backend.entity.ConversionStatus;
+import com.budget.backend.entity.TransactionType;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -26,4 +29,21 @@ public class TransactionResponseDTO {
     private String categoryName;
     private String categoryType; // "INCOME" sau "EXPENSE"
     private Long userId;
+    /** "FINAL" sau "PROVISIONAL" (suma în moneda de bază folosește un curs de rezervă) */
+    private String conversionStatus;
+    /** Doar la create/update, când scrierea a trecut pragul de avertizare sau limita bugetului categoriei */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private BudgetStatusDTO budgetAlert;
+
+    /**
+     * Folosit de proiecțiile JPQL (SELECT new ...) din TransactionRepository: tipul categoriei și statusul vin ca enum.
+     */
+    public TransactionResponseDTO(Long id, String description, BigDecimal amount, String currency,
+                                  BigDecimal amountInBaseCurrency, LocalDate date, Long categoryId,
+                                  String categoryName, TransactionType categoryType, Long userId,
+                                  ConversionStatus conversionStatus) {
+        this(id, description, amount, currency, amountInBaseCurrency, date, categoryId, categoryName,
+                categoryType != null ? categoryType.name() : null, userId,
+                conversionStatus != null ? conversionStatus.name() : null, null);
+    }
 }
\ No newline at end of file
@@ -4,13 +4,19 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
 @Table(name = "categories")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.NONSTRICT_READ_WRITE, region = Category.CACHE_REGION) // scrise doar la seeding; un update ar invalida intrarea
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Category {
+    public static final String CACHE_REGION = "categories";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
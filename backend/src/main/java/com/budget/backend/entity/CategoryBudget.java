@@ -0,0 +1,44 @@
+package com.budget.backend.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+
+/**
+ * Limita lunară (în moneda de bază) a unui utilizator pentru o categorie de cheltuieli.
+ * Cheltuiala lunii curente nu se ține aici: vine din monthly_category_totals (același rollup ca dashboard-ul).
+ */
+@Entity
+@Table(name = "category_budgets")
+@IdClass(CategoryBudget.Key.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CategoryBudget {
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Id
+    @Column(name = "category_id")
+    private Long categoryId;
+
+    @Column(name = "monthly_limit", nullable = false, precision = 19, scale = 2)
+    private BigDecimal monthlyLimit;
+
+    /** Procentul din limită de la care o tranzacție primește avertizare (ex: 80) */
+    @Column(name = "alert_threshold_percent", nullable = false)
+    private int alertThresholdPercent;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long userId;
+        private Long categoryId;
+    }
+}
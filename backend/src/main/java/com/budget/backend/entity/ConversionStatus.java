@@ -0,0 +1,7 @@
+package com.budget.backend.entity;
+
+public enum ConversionStatus {
+    FINAL,        // Convertită cu cursul zilei tranzacției
+    PROVISIONAL,  // Curs de rezervă (API-ul de cursuri era indisponibil); se poate recalcula
+    PENDING       // Salvată fără conversie (amountInBaseCurrency = 0); o completează ConversionReconciliationService
+}
@@ -0,0 +1,50 @@
+package com.budget.backend.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Curs istoric (from -> to la o dată trecută), persistat ca să nu-l mai cerem de la Frankfurter:
+ * cursurile pentru zile trecute nu se mai schimbă. Se salvează tabelul zilei față de EUR;
+ * perechile încrucișate se derivă din el (vezi CachingExchangeRateClient).
+ */
+@Entity
+@Table(name = "exchange_rates", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_exchange_rates_pair_date", columnNames = {"from_currency", "to_currency", "rate_date"})
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExchangeRate {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "from_currency", nullable = false, length = 3)
+    private String fromCurrency;
+
+    @Column(name = "to_currency", nullable = false, length = 3)
+    private String toCurrency;
+
+    @Column(name = "rate_date", nullable = false)
+    private LocalDate rateDate;
+
+    @Column(nullable = false, precision = 19, scale = 8)
+    private BigDecimal rate;
+
+    @Column(name = "fetched_at", nullable = false)
+    private LocalDateTime fetchedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        if (fetchedAt == null) {
+            fetchedAt = LocalDateTime.now();
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.budget.backend.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Rollup lunar: suma (în moneda de bază) și numărul tranzacțiilor unui utilizator pe (lună, categorie).
+ * Întreținut incremental la fiecare scriere de tranzacție (vezi MonthlyRollupService), astfel încât
+ * dashboard-ul să citească lunile întregi de aici în loc să re-agregheze rândurile brute.
+ */
+@Entity
+@Table(name = MonthlyCategoryTotal.TABLE)
+@IdClass(MonthlyCategoryTotal.Key.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MonthlyCategoryTotal {
+    public static final String TABLE = "monthly_category_totals";
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    /** Prima zi a lunii (ex: 2025-03-01 pentru martie 2025) */
+    @Id
+    @Column(name = "month_start")
+    private LocalDate monthStart;
+
+    @Id
+    @Column(name = "category_id")
+    private Long categoryId;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal total;
+
+    @Column(name = "tx_count", nullable = false)
+    private long txCount;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long userId;
+        private LocalDate monthStart;
+        private Long categoryId;
+    }
+}
@@ -0,0 +1,23 @@
+package com.budget.backend.entity;
+
+import java.time.LocalDate;
+
+public enum RecurrenceFrequency {
+    DAILY,
+    WEEKLY,
+    MONTHLY,
+    YEARLY;
+
+    /**
+     * Data a n-a unitate după start. Se calculează mereu din start (nu din apariția precedentă),
+     * deci o regulă lunară din 31 ianuarie dă 29 februarie și apoi din nou 31 martie.
+     */
+    public LocalDate advance(LocalDate start, long units) {
+        return switch (this) {
+            case DAILY -> start.plusDays(units);
+            case WEEKLY -> start.plusWeeks(units);
+            case MONTHLY -> start.plusMonths(units);
+            case YEARLY -> start.plusYears(units);
+        };
+    }
+}
@@ -0,0 +1,88 @@
+package com.budget.backend.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Șablon de tranzacție recurentă (salariu, chirie, abonamente).
+ *
+ * Apariția k are data frequency.advance(startDate, k * intervalCount); occurrenceCount = câte apariții au fost
+ * deja generate, nextRunDate = data următoarei (null când regula s-a încheiat, după endDate).
+ * Tranzacțiile le creează RecurringTransactionScheduler; version protejează de două instanțe care procesează
+ * același șablon simultan și de editări concurente.
+ */
+@Entity
+@Table(name = "recurring_transactions", indexes = {
+        @Index(name = "idx_recurring_next_run_id", columnList = "next_run_date, id"),
+        @Index(name = "idx_recurring_user", columnList = "user_id")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecurringTransaction {
+    public static final String TABLE = "recurring_transactions";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "category_id", nullable = false)
+    private Long categoryId;
+
+    @Column(nullable = false, length = 255)
+    private String description;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal amount;
+
+    @Column(nullable = false, length = 3)
+    private String currency;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private RecurrenceFrequency frequency;
+
+    /** La câte unități de frequency se repetă (ex: WEEKLY + 2 = la două săptămâni) */
+    @Column(name = "interval_count", nullable = false)
+    private int intervalCount = 1;
+
+    @Column(name = "start_date", nullable = false)
+    private LocalDate startDate;
+
+    /** Inclusiv; null = fără sfârșit */
+    @Column(name = "end_date")
+    private LocalDate endDate;
+
+    @Column(name = "occurrence_count", nullable = false)
+    private int occurrenceCount;
+
+    /** Data ultimei apariții generate; null dacă nu s-a generat încă niciuna */
+    @Column(name = "last_run_date")
+    private LocalDate lastRunDate;
+
+    @Column(name = "next_run_date")
+    private LocalDate nextRunDate;
+
+    @Version
+    @Column(nullable = false)
+    private long version;
+
+    /** Data apariției cu numărul dat (0 = startDate) */
+    public LocalDate occurrenceDate(int occurrence) {
+        return frequency.advance(startDate, (long) occurrence * intervalCount);
+    }
+
+    /** Data apariției cu numărul dat sau null dacă depășește endDate */
+    public LocalDate occurrenceDateWithinEnd(int occurrence) {
+        LocalDate date = occurrenceDate(occurrence);
+        return (endDate != null && date.isAfter(endDate)) ? null : date;
+    }
+}
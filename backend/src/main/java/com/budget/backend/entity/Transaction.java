@@ -9,13 +9,31 @@ import java.math.BigDecimal;
 import java.time.LocalDate;
 
 @Entity
-@Table(name = "transactions")
+/*
+ * Index compus (user_id, date, id): listarea paginată (keyset) citește un interval
+ * contiguu din index, indiferent cât de lung e istoricul utilizatorului.
+ * (conversion_status, id): worker-ul de conversie citește doar rândurile PENDING/PROVISIONAL după cursor,
+ * fără să parcurgă toată cheia primară la fiecare rulare.
+ */
+@Table(name = "transactions", indexes = {
+        @Index(name = "idx_transactions_user_date_id", columnList = "user_id, date, id"),
+        @Index(name = "idx_transactions_status_id", columnList = "conversion_status, id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Transaction {
+    public static final String ID_SEQUENCE = "transactions_seq";
+    public static final int ID_ALLOCATION_SIZE = 50;
+
+    /*
+     * Id din generator „pooled” (pe MySQL: tabela transactions_seq), nu IDENTITY:
+     * Hibernate rezervă câte ID_ALLOCATION_SIZE id-uri odată și poate grupa INSERT-urile în batch JDBC
+     * (cu IDENTITY fiecare INSERT trebuie executat imediat ca să afle id-ul).
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "transaction_id_generator")
+    @SequenceGenerator(name = "transaction_id_generator", sequenceName = ID_SEQUENCE, allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
 
     @Column(nullable = false, length = 255)
@@ -31,10 +49,20 @@ public class Transaction {
 
     /**
      * Suma echivalentă în moneda de bază a utilizatorului (la data tranzacției), pentru totaluri corecte.
+     * 0 = încă neconvertită (PENDING); vezi {@link #effectiveAmountInBase()}.
      */
     @Column(name = "amount_in_base_currency", nullable = false, precision = 19, scale = 2)
     private BigDecimal amountInBaseCurrency = BigDecimal.ZERO;
 
+    /**
+     * PROVISIONAL când amountInBaseCurrency s-a calculat cu un curs de rezervă (upstream indisponibil).
+     * Default-ul din DDL acoperă rândurile existente la adăugarea coloanei (ddl-auto=update).
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "conversion_status", nullable = false, length = 16,
+            columnDefinition = "varchar(16) default 'FINAL' not null")
+    private ConversionStatus conversionStatus = ConversionStatus.FINAL;
+
     @Column(nullable = false)
     private LocalDate date;
 
@@ -50,4 +78,14 @@ public class Transaction {
     @JoinColumn(name = "category_id", nullable = false)
     private Category category;
 
+    /**
+     * Suma folosită în totaluri: amountInBaseCurrency, sau amount cât timp conversia lipsește.
+     * Aceeași regulă ca TransactionRepository.EFFECTIVE_AMOUNT.
+     */
+    public BigDecimal effectiveAmountInBase() {
+        if (amountInBaseCurrency != null && amountInBaseCurrency.compareTo(BigDecimal.ZERO) != 0) {
+            return amountInBaseCurrency;
+        }
+        return amount;
+    }
 }
@@ -0,0 +1,32 @@
+package com.budget.backend.repository;
+
+import com.budget.backend.dto.response.BudgetUsageDTO;
+import com.budget.backend.entity.CategoryBudget;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface CategoryBudgetRepository extends JpaRepository<CategoryBudget, CategoryBudget.Key> {
+
+    /*
+     * Bugetul + totalul lunii din monthly_category_totals, într-un singur SELECT pe chei primare:
+     * cheltuiala nu se re-agregă din tranzacții.
+     */
+    String USAGE_SELECT = "SELECT new com.budget.backend.dto.response.BudgetUsageDTO("
+            + "b.categoryId, b.monthlyLimit, b.alertThresholdPercent, COALESCE(m.total, 0)) "
+            + "FROM CategoryBudget b LEFT JOIN MonthlyCategoryTotal m "
+            + "ON m.userId = b.userId AND m.categoryId = b.categoryId AND m.monthStart = :monthStart ";
+
+    @Query(USAGE_SELECT + "WHERE b.userId = :userId ORDER BY b.categoryId")
+    List<BudgetUsageDTO> findUsageByUserId(@Param("userId") Long userId, @Param("monthStart") LocalDate monthStart);
+
+    @Query(USAGE_SELECT + "WHERE b.userId = :userId AND b.categoryId = :categoryId")
+    Optional<BudgetUsageDTO> findUsage(@Param("userId") Long userId, @Param("categoryId") Long categoryId,
+                                       @Param("monthStart") LocalDate monthStart);
+}
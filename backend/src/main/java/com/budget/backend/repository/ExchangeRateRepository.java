@@ -0,0 +1,20 @@
+package com.budget.backend.repository;
+
+import com.budget.backend.entity.ExchangeRate;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ExchangeRateRepository extends JpaRepository<ExchangeRate, Long> {
+    /** Tabelul complet al unei zile pentru moneda de referință */
+    List<ExchangeRate> findByFromCurrencyAndRateDate(String fromCurrency, LocalDate rateDate);
+
+    /** Cel mai recent curs salvat pentru pereche până la data dată (inclusiv), pentru cursul de rezervă */
+    Optional<ExchangeRate> findFirstByFromCurrencyAndToCurrencyAndRateDateLessThanEqualOrderByRateDateDesc(
+            String fromCurrency, String toCurrency, LocalDate rateDate);
+
+}
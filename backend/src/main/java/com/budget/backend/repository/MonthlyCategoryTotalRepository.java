@@ -0,0 +1,79 @@
+package com.budget.backend.repository;
+
+import com.budget.backend.dto.response.CategoryTotalDTO;
+import com.budget.backend.entity.MonthlyCategoryTotal;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Query-urile native de scriere declară tabela atinsă (HINT_NATIVE_SPACES): fără ea Hibernate golește
+ * tot cache-ul L2 (User, Category) la fiecare addDelta, adică la fiecare tranzacție salvată.
+ */
+@Repository
+public interface MonthlyCategoryTotalRepository extends JpaRepository<MonthlyCategoryTotal, MonthlyCategoryTotal.Key> {
+
+    /** Totaluri pe categorie pentru lunile întregi [fromMonth, toMonth] (ambele = prima zi a lunii) */
+    @Query("SELECT new com.budget.backend.dto.response.CategoryTotalDTO(c.type, c.id, c.name, SUM(m.total)) FROM MonthlyCategoryTotal m JOIN Category c ON c.id = m.categoryId WHERE m.userId = :userId AND m.monthStart BETWEEN :fromMonth AND :toMonth AND m.txCount > 0 GROUP BY c.type, c.id, c.name")
+    List<CategoryTotalDTO> sumByCategoryForUserAndMonthBetween(@Param("userId") Long userId, @Param("fromMonth") LocalDate fromMonth, @Param("toMonth") LocalDate toMonth);
+
+    /**
+     * Aplică atomic o diferență (pozitivă la inserare, negativă la ștergere) pe rândul (user, lună, categorie),
+     * creându-l dacă nu există. MySQL: INSERT ... ON DUPLICATE KEY UPDATE.
+     */
+    @Transactional
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = MonthlyCategoryTotal.TABLE))
+    @Query(value = "INSERT INTO monthly_category_totals (user_id, month_start, category_id, total, tx_count) "
+            + "VALUES (:userId, :monthStart, :categoryId, :amount, :count) "
+            + "ON DUPLICATE KEY UPDATE total = total + :amount, tx_count = tx_count + :count", nativeQuery = true)
+    void addDelta(@Param("userId") Long userId,
+                  @Param("monthStart") LocalDate monthStart,
+                  @Param("categoryId") Long categoryId,
+                  @Param("amount") BigDecimal amount,
+                  @Param("count") long count);
+
+    /**
+     * Reconstruiește rollup-ul din tranzacțiile existente (prima pornire după introducerea tabelei).
+     * Suma efectivă e echivalentul SQL al TransactionRepository.EFFECTIVE_AMOUNT; prima zi a lunii se calculează
+     * cu TIMESTAMPADD (MySQL și H2). Condiția pe any_row: nu inserează nimic dacă tabela a fost deja populată
+     * (altă instanță), iar două rebuild-uri simultane se lovesc de cheia primară în loc să dubleze totalurile.
+     */
+    @Transactional
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = MonthlyCategoryTotal.TABLE))
+    @Query(value = "INSERT INTO monthly_category_totals (user_id, month_start, category_id, total, tx_count) "
+            + "SELECT t.user_id, TIMESTAMPADD(DAY, 1 - DAYOFMONTH(t.date), t.date), t.category_id, "
+            + "SUM(COALESCE(NULLIF(t.amount_in_base_currency, 0), t.amount)), COUNT(*) "
+            + "FROM transactions t "
+            + "WHERE (SELECT COUNT(*) FROM (SELECT 1 FROM monthly_category_totals LIMIT 1) AS any_row) = 0 "
+            + "GROUP BY t.user_id, TIMESTAMPADD(DAY, 1 - DAYOFMONTH(t.date), t.date), t.category_id", nativeQuery = true)
+    int rebuildAll();
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM MonthlyCategoryTotal m WHERE m.userId = :userId")
+    int deleteByUserId(@Param("userId") Long userId);
+
+    /** Ca rebuildAll, pentru un singur utilizator (după schimbarea monedei de bază); se apelează după deleteByUserId. */
+    @Transactional
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = MonthlyCategoryTotal.TABLE))
+    @Query(value = "INSERT INTO monthly_category_totals (user_id, month_start, category_id, total, tx_count) "
+            + "SELECT t.user_id, TIMESTAMPADD(DAY, 1 - DAYOFMONTH(t.date), t.date), t.category_id, "
+            + "SUM(COALESCE(NULLIF(t.amount_in_base_currency, 0), t.amount)), COUNT(*) "
+            + "FROM transactions t WHERE t.user_id = :userId "
+            + "GROUP BY t.user_id, TIMESTAMPADD(DAY, 1 - DAYOFMONTH(t.date), t.date), t.category_id", nativeQuery = true)
+    int rebuildForUser(@Param("userId") Long userId);
+
+}
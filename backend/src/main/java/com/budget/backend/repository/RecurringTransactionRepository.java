@@ -0,0 +1,16 @@
+package com.budget.backend.repository;
+
+import com.budget.backend.entity.RecurringTransaction;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface RecurringTransactionRepository extends JpaRepository<RecurringTransaction, Long> {
+
+    List<RecurringTransaction> findByUserIdOrderByIdAsc(Long userId);
+
+    Optional<RecurringTransaction> findByIdAndUserId(Long id, Long userId);
+}
@@ -1,33 +1,149 @@
 package com.budget.backend.repository;
 
 import com.budget.backend.dto.response.CategoryExpenseDTO;
+import com.budget.backend.dto.response.CategoryTotalDTO;
+import com.budget.backend.dto.response.DailyCategoryTotalDTO;
+import com.budget.backend.dto.response.TransactionResponseDTO;
+import com.budget.backend.entity.ConversionStatus;
 import com.budget.backend.entity.Transaction;
-import com.budget.backend.entity.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface TransactionRepository extends JpaRepository<Transaction, Long> {
-    List<Transaction> findByUser(User user);
+    /*
+     * Toate metodele sunt pe userId (din JWT), nu pe entitatea User: nu e nevoie de userRepository.findById
+     * înainte, iar t.user.id se rezolvă pe coloana user_id, fără JOIN pe users.
+     */
+    List<Transaction> findByUserId(Long userId);
 
     /** Cele mai noi primele; la aceeași dată, id mai mare = introdusă mai recent */
-    List<Transaction> findByUserOrderByDateDescIdDesc(User user);
-    List<Transaction> findByUserAndDateBetween(User user, LocalDate startDate, LocalDate endDate);
-    List<Transaction> findByUserAndCategoryId(User user, Long categoryId);
+    List<Transaction> findByUserIdOrderByDateDescIdDesc(Long userId);
 
-    @Query("SELECT COALESCE(SUM(COALESCE(NULLIF(t.amountInBaseCurrency, 0), t.amount)), 0) FROM Transaction t WHERE t.user = :user AND t.date BETWEEN :start AND :end AND t.category.type = com.budget.backend.entity.TransactionType.INCOME")
-    BigDecimal sumIncomeByUserAndDateBetween(@Param("user") User user, @Param("start") LocalDate start, @Param("end") LocalDate end);
+    /** Verificarea de proprietar se face în WHERE: o tranzacție a altui utilizator arată ca una inexistentă */
+    Optional<Transaction> findByIdAndUserId(Long id, Long userId);
 
-    @Query("SELECT COALESCE(SUM(COALESCE(NULLIF(t.amountInBaseCurrency, 0), t.amount)), 0) FROM Transaction t WHERE t.user = :user AND t.date BETWEEN :start AND :end AND t.category.type = com.budget.backend.entity.TransactionType.EXPENSE")
-    BigDecimal sumExpenseByUserAndDateBetween(@Param("user") User user, @Param("start") LocalDate start, @Param("end") LocalDate end);
+    /** Pentru update: tranzacția și utilizatorul ei (moneda de bază) într-un singur SELECT */
+    @Query("SELECT t FROM Transaction t JOIN FETCH t.user WHERE t.id = :id AND t.user.id = :userId")
+    Optional<Transaction> findWithUserByIdAndUserId(@Param("id") Long id, @Param("userId") Long userId);
 
-    @Query("SELECT new com.budget.backend.dto.response.CategoryExpenseDTO(c.name, c.id, SUM(COALESCE(NULLIF(t.amountInBaseCurrency, 0), t.amount))) FROM Transaction t JOIN t.category c WHERE t.user = :user AND t.date BETWEEN :start AND :end AND c.type = com.budget.backend.entity.TransactionType.EXPENSE GROUP BY c.id, c.name")
-    List<CategoryExpenseDTO> getExpensesByCategory(@Param("user") User user, @Param("start") LocalDate start, @Param("end") LocalDate end);
+    /**
+     * Suma în moneda de bază folosită de toate agregările. amountInBaseCurrency = 0 înseamnă „încă neconvertită”
+     * (PENDING sau rânduri dinaintea conversiei), caz în care se folosește amount; în Java:
+     * {@link Transaction#effectiveAmountInBase()}.
+     */
+    String EFFECTIVE_AMOUNT = "COALESCE(NULLIF(t.amountInBaseCurrency, 0), t.amount)";
+
+    /*
+     * Proiecții DTO pentru endpoint-urile de citire: un singur SELECT cu JOIN pe categorie,
+     * fără entități gestionate și fără inițializări lazy per rând (N+1).
+     * amountInBaseCurrency cade pe amount când conversia lipsește, ca în agregări.
+     */
+    String TRANSACTION_DTO_SELECT = "SELECT new com.budget.backend.dto.response.TransactionResponseDTO("
+            + "t.id, t.description, t.amount, t.currency, " + EFFECTIVE_AMOUNT + ", "
+            + "t.date, c.id, c.name, c.type, t.user.id, t.conversionStatus) "
+            + "FROM Transaction t JOIN t.category c ";
+
+    @Query(TRANSACTION_DTO_SELECT + "WHERE t.user.id = :userId ORDER BY t.date DESC, t.id DESC")
+    List<TransactionResponseDTO> findDtosByUserId(@Param("userId") Long userId);
+
+    /**
+     * Pentru export: rândurile sunt citite incremental din ResultSet (fetch size), nu materializate într-o listă.
+     * Trebuie consumat într-o tranzacție și închis (try-with-resources).
+     * Pe MySQL streaming-ul real cere useCursorFetch=true în URL-ul JDBC.
+     */
+    @Query(TRANSACTION_DTO_SELECT + "WHERE t.user.id = :userId ORDER BY t.date DESC, t.id DESC")
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "1000"))
+    Stream<TransactionResponseDTO> streamDtosByUserId(@Param("userId") Long userId);
+
+    @Query(TRANSACTION_DTO_SELECT + "WHERE t.id = :id AND t.user.id = :userId")
+    Optional<TransactionResponseDTO> findDtoByIdAndUserId(@Param("id") Long id, @Param("userId") Long userId);
+
+    /** Prima pagină din listarea keyset: cele mai noi tranzacții */
+    @Query(TRANSACTION_DTO_SELECT + "WHERE t.user.id = :userId ORDER BY t.date DESC, t.id DESC")
+    List<TransactionResponseDTO> findFirstPageByUserId(@Param("userId") Long userId, Limit limit);
+
+    /** Pagina următoare: tot ce e strict „după” cursorul (date, id) în ordinea descrescătoare */
+    @Query(TRANSACTION_DTO_SELECT + "WHERE t.user.id = :userId "
+            + "AND (t.date < :date OR (t.date = :date AND t.id < :id)) ORDER BY t.date DESC, t.id DESC")
+    List<TransactionResponseDTO> findPageByUserIdAfter(@Param("userId") Long userId,
+                                                       @Param("date") LocalDate date,
+                                                       @Param("id") Long id,
+                                                       Limit limit);
+
+    List<Transaction> findByUserIdAndDateBetween(Long userId, LocalDate startDate, LocalDate endDate);
+    List<Transaction> findByUserIdAndCategoryId(Long userId, Long categoryId);
+
+    @Query("SELECT COALESCE(SUM(" + EFFECTIVE_AMOUNT + "), 0) FROM Transaction t WHERE t.user.id = :userId AND t.date BETWEEN :start AND :end AND t.category.type = com.budget.backend.entity.TransactionType.INCOME")
+    BigDecimal sumIncomeByUserIdAndDateBetween(@Param("userId") Long userId, @Param("start") LocalDate start, @Param("end") LocalDate end);
+
+    @Query("SELECT COALESCE(SUM(" + EFFECTIVE_AMOUNT + "), 0) FROM Transaction t WHERE t.user.id = :userId AND t.date BETWEEN :start AND :end AND t.category.type = com.budget.backend.entity.TransactionType.EXPENSE")
+    BigDecimal sumExpenseByUserIdAndDateBetween(@Param("userId") Long userId, @Param("start") LocalDate start, @Param("end") LocalDate end);
+
+    @Query("SELECT new com.budget.backend.dto.response.CategoryExpenseDTO(c.name, c.id, SUM(" + EFFECTIVE_AMOUNT + ")) FROM Transaction t JOIN t.category c WHERE t.user.id = :userId AND t.date BETWEEN :start AND :end AND c.type = com.budget.backend.entity.TransactionType.EXPENSE GROUP BY c.id, c.name")
+    List<CategoryExpenseDTO> getExpensesByCategory(@Param("userId") Long userId, @Param("start") LocalDate start, @Param("end") LocalDate end);
+
+    /**
+     * Agregarea dashboard-ului într-o singură trecere: totaluri pe categorie (venituri și cheltuieli),
+     * din care serviciul derivă totalIncome, totalExpense și lista pe categorii.
+     */
+    @Query("SELECT new com.budget.backend.dto.response.CategoryTotalDTO(c.type, c.id, c.name, SUM(" + EFFECTIVE_AMOUNT + ")) FROM Transaction t JOIN t.category c WHERE t.user.id = :userId AND t.date BETWEEN :start AND :end GROUP BY c.type, c.id, c.name")
+    List<CategoryTotalDTO> sumByCategoryForUserAndDateBetween(@Param("userId") Long userId, @Param("start") LocalDate start, @Param("end") LocalDate end);
+
+    /**
+     * Seriile de timp: un singur scan pe (user_id, date), grupat pe zi și categorie.
+     * Gruparea pe săptămână/lună și umplerea golurilor se fac în DashboardService (portabil, fără funcții de dată din SQL).
+     */
+    @Query("SELECT new com.budget.backend.dto.response.DailyCategoryTotalDTO(t.date, c.type, c.id, c.name, SUM(" + EFFECTIVE_AMOUNT + ")) FROM Transaction t JOIN t.category c WHERE t.user.id = :userId AND t.date BETWEEN :start AND :end GROUP BY t.date, c.type, c.id, c.name ORDER BY t.date")
+    List<DailyCategoryTotalDTO> sumByDayAndCategoryForUserAndDateBetween(@Param("userId") Long userId, @Param("start") LocalDate start, @Param("end") LocalDate end);
+
+    /**
+     * Ca mai sus, dar pe două intervale disjuncte (zilele parțiale de la capetele unui interval
+     * care conține luni întregi; lunile întregi vin din monthly_category_totals). Un interval gol: start &gt; end.
+     */
+    @Query("SELECT new com.budget.backend.dto.response.CategoryTotalDTO(c.type, c.id, c.name, SUM(" + EFFECTIVE_AMOUNT + ")) FROM Transaction t JOIN t.category c WHERE t.user.id = :userId AND ((t.date BETWEEN :start1 AND :end1) OR (t.date BETWEEN :start2 AND :end2)) GROUP BY c.type, c.id, c.name")
+    List<CategoryTotalDTO> sumByCategoryForUserAndDateRanges(@Param("userId") Long userId,
+                                                             @Param("start1") LocalDate start1, @Param("end1") LocalDate end1,
+                                                             @Param("start2") LocalDate start2, @Param("end2") LocalDate end2);
+
+    /**
+     * Pentru worker-ul de conversie: următoarele rânduri cu statusul dat, după id (cursor), cu user-ul încărcat
+     * (moneda de bază).
+     */
+    @Query("SELECT t FROM Transaction t JOIN FETCH t.user WHERE t.conversionStatus IN :statuses AND t.id > :afterId ORDER BY t.id")
+    List<Transaction> findForConversion(@Param("statuses") Collection<ConversionStatus> statuses,
+                                        @Param("afterId") Long afterId,
+                                        Limit limit);
+
+    /**
+     * Scrie conversia doar dacă rândul nu s-a schimbat între citire și scriere (editare concurentă, altă instanță);
+     * 0 = rândul a fost modificat și e lăsat în pace.
+     */
+    @Modifying
+    @Query("UPDATE Transaction t SET t.amountInBaseCurrency = :amountInBase, t.conversionStatus = :newStatus "
+            + "WHERE t.id = :id AND t.conversionStatus = :expectedStatus AND t.amount = :amount "
+            + "AND t.currency = :currency AND t.date = :date AND t.category.id = :categoryId")
+    int completeConversion(@Param("id") Long id,
+                           @Param("amountInBase") BigDecimal amountInBase,
+                           @Param("newStatus") ConversionStatus newStatus,
+                           @Param("expectedStatus") ConversionStatus expectedStatus,
+                           @Param("amount") BigDecimal amount,
+                           @Param("currency") String currency,
+                           @Param("date") LocalDate date,
+                           @Param("categoryId") Long categoryId);
 
 }
@@ -16,6 +16,7 @@ import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
 import java.util.Collections;
+import java.util.Optional;
 
 /**
  * Validează JWT din Authorization: Bearer &lt;token&gt; și populează SecurityContext.
@@ -44,19 +45,16 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
 
         String token = authHeader.substring(BEARER_PREFIX.length()).trim();
-        if (!jwtService.validateToken(token)) {
+        // O singură verificare per request (și deloc dacă token-ul e deja în cache)
+        Optional<JwtService.VerifiedToken> verified = jwtService.verifyToken(token);
+        if (verified.isEmpty()) {
             filterChain.doFilter(request, response);
             return;
         }
 
-        Long userId = jwtService.getUserIdFromToken(token);
-        String username = jwtService.getUsernameFromToken(token);
-        String role = jwtService.getRoleFromToken(token);
-
-        if (userId == null || username == null) {
-            filterChain.doFilter(request, response);
-            return;
-        }
+        Long userId = verified.get().userId();
+        String username = verified.get().username();
+        String role = verified.get().role();
 
         AuthenticatedUser principal = new AuthenticatedUser(userId, username);
         var authority = new SimpleGrantedAuthority(
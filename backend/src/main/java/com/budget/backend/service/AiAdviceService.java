@@ -0,0 +1,207 @@
+package com.budget.backend.service;
+
+import com.budget.backend.client.GeminiClient;
+import com.budget.backend.dto.response.AiAdviceJobDTO;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Consumer;
+
+/**
+ * Sfaturi AI rulate ca job-uri în fundal: request-ul HTTP nu mai așteaptă Gemini (până la 60s).
+ *
+ * - promptul se construiește sincron (câteva agregări din DB), apoi apelul Gemini rulează pe aiAdviceExecutor;
+ * - răspunsurile se țin în cache pe (user, interval, hash prompt): dacă datele nu s-au schimbat, promptul e identic
+ *   și nu mai apelăm Gemini; o tranzacție nouă schimbă cifrele din prompt, deci și cheia;
+ * - două cereri identice cât timp prima e în lucru primesc același job;
+ * - streamAdvice trimite textul fragment cu fragment (streamGenerateContent), pentru SSE.
+ */
+@Service
+public class AiAdviceService {
+
+    public enum JobStatus {
+        PENDING, DONE, FAILED
+    }
+
+    /**
+     * Un job în memorie; result se completează o singură dată, din thread-ul executorului.
+     */
+    public record Job(String id, Long userId, CompletableFuture<String> result) {
+
+        public JobStatus status() {
+            if (!result.isDone()) {
+                return JobStatus.PENDING;
+            }
+            return result.isCompletedExceptionally() ? JobStatus.FAILED : JobStatus.DONE;
+        }
+    }
+
+    private final FinancialReportService financialReportService;
+    private final GeminiClient geminiClient;
+    private final AsyncTaskExecutor executor;
+    private final Cache<String, String> adviceCache;
+    private final Cache<String, Job> jobs;
+    private final ConcurrentMap<String, Job> inFlight = new ConcurrentHashMap<>();
+
+    public AiAdviceService(FinancialReportService financialReportService,
+                           GeminiClient geminiClient,
+                           @Qualifier("aiAdviceExecutor") AsyncTaskExecutor executor,
+                           @Value("${ai.advice.cache.max-size:10000}") long cacheMaxSize,
+                           @Value("${ai.advice.cache.ttl:PT6H}") Duration cacheTtl,
+                           @Value("${ai.advice.job.ttl:PT30M}") Duration jobTtl,
+                           @Value("${ai.advice.job.max-size:10000}") long jobsMaxSize) {
+        this.financialReportService = financialReportService;
+        this.geminiClient = geminiClient;
+        this.executor = executor;
+        this.adviceCache = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfterWrite(cacheTtl)
+                .build();
+        this.jobs = Caffeine.newBuilder()
+                .maximumSize(jobsMaxSize)
+                .expireAfterWrite(jobTtl)
+                .build();
+    }
+
+    /**
+     * Pornește (sau refolosește) un job pentru intervalul dat și întoarce imediat.
+     */
+    public Job submit(Long userId, LocalDate from, LocalDate to) {
+        String prompt = financialReportService.buildAiPrompt(userId, from, to);
+        String key = cacheKey(userId, from, to, prompt);
+
+        String cached = adviceCache.getIfPresent(key);
+        if (cached != null) {
+            return register(new Job(newJobId(), userId, CompletableFuture.completedFuture(cached)));
+        }
+
+        Job job = new Job(newJobId(), userId, new CompletableFuture<>());
+        Job existing = inFlight.putIfAbsent(key, job);
+        if (existing != null) {
+            return existing;
+        }
+        register(job);
+        job.result().whenComplete((advice, error) -> {
+            if (error == null) {
+                adviceCache.put(key, advice);
+            }
+            inFlight.remove(key, job);
+        });
+        try {
+            executor.execute(() -> {
+                try {
+                    job.result().complete(geminiClient.generateContent(prompt));
+                } catch (Throwable e) {
+                    job.result().completeExceptionally(e);
+                }
+            });
+        } catch (TaskRejectedException e) {
+            ResponseStatusException busy = tooBusy();
+            job.result().completeExceptionally(busy);
+            jobs.invalidate(job.id());
+            throw busy;
+        }
+        return job;
+    }
+
+    /**
+     * Varianta streaming: fragmentele de text ajung la onChunk pe măsură ce le generează Gemini.
+     * Un răspuns deja în cache e trimis ca un singur fragment; un stream reușit intră în același cache.
+     * Future-ul se completează cu textul complet (sau cu eroarea).
+     */
+    public CompletableFuture<String> streamAdvice(Long userId, LocalDate from, LocalDate to, Consumer<String> onChunk) {
+        String prompt = financialReportService.buildAiPrompt(userId, from, to);
+        String key = cacheKey(userId, from, to, prompt);
+
+        String cached = adviceCache.getIfPresent(key);
+        if (cached != null) {
+            onChunk.accept(cached);
+            return CompletableFuture.completedFuture(cached);
+        }
+
+        CompletableFuture<String> result = new CompletableFuture<>();
+        try {
+            executor.execute(() -> {
+                try {
+                    String advice = geminiClient.streamContent(prompt, onChunk);
+                    adviceCache.put(key, advice);
+                    result.complete(advice);
+                } catch (Throwable e) {
+                    result.completeExceptionally(e);
+                }
+            });
+        } catch (TaskRejectedException e) {
+            throw tooBusy();
+        }
+        return result;
+    }
+
+    /**
+     * Job-ul doar dacă aparține utilizatorului curent.
+     */
+    public Optional<Job> findJob(String jobId, Long userId) {
+        Job job = jobs.getIfPresent(jobId);
+        if (job == null || !job.userId().equals(userId)) {
+            return Optional.empty();
+        }
+        return Optional.of(job);
+    }
+
+    public AiAdviceJobDTO toDTO(Job job) {
+        AiAdviceJobDTO.AiAdviceJobDTOBuilder dto = AiAdviceJobDTO.builder()
+                .jobId(job.id())
+                .status(job.status().name());
+        if (job.status() == JobStatus.DONE) {
+            dto.adviceText(job.result().join());
+        } else if (job.status() == JobStatus.FAILED) {
+            dto.error(failureMessage(job.result()));
+        }
+        return dto.build();
+    }
+
+    private Job register(Job job) {
+        jobs.put(job.id(), job);
+        return job;
+    }
+
+    private static String failureMessage(CompletableFuture<String> result) {
+        try {
+            result.join();
+            return null;
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            if (cause instanceof ResponseStatusException rse && rse.getReason() != null) {
+                return rse.getReason();
+            }
+            return cause.getMessage() != null ? cause.getMessage() : "AI advice failed";
+        }
+    }
+
+    private static String cacheKey(Long userId, LocalDate from, LocalDate to, String prompt) {
+        return userId + "|" + from + "|" + to + "|" + Hashing.sha256Base64(prompt);
+    }
+
+    private static ResponseStatusException tooBusy() {
+        return new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE,
+                "Too many AI advice requests in progress, try again later");
+    }
+
+    private static String newJobId() {
+        return UUID.randomUUID().toString();
+    }
+}
@@ -0,0 +1,269 @@
+package com.budget.backend.service;
+
+import com.budget.backend.client.RateQuote;
+import com.budget.backend.dto.response.BaseCurrencyChangeJobDTO;
+import com.budget.backend.entity.ConversionStatus;
+import com.budget.backend.entity.User;
+import com.budget.backend.repository.MonthlyCategoryTotalRepository;
+import com.budget.backend.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Schimbarea monedei de bază a unui utilizator: toate amountInBaseCurrency trebuie recalculate.
+ *
+ * Moneda se schimbă imediat (tranzacțiile noi folosesc deja noua monedă) și, în aceeași tranzacție, toate
+ * tranzacțiile utilizatorului devin PENDING, iar limitele bugetelor (category_budgets, tot în moneda de bază)
+ * se convertesc la cursul zilei; apoi un job în fundal:
+ * - grupează tranzacțiile pe (monedă, dată): un singur curs per grup;
+ * - împarte grupurile în bucăți de ~chunk-size rânduri, procesate în paralel pe reconversionExecutor,
+ *   fiecare bucată = un batch JDBC de UPDATE-uri (unul per grup) într-o tranzacție proprie;
+ * - la final, și când o bucată a eșuat, reconstruiește rollup-ul lunar al utilizatorului și invalidează LedgerCache.
+ * Rândurile unei bucăți eșuate (sau ale grupurilor fără curs) rămân PENDING, deci nu păstrează sume în vechea
+ * monedă marcate FINAL: le completează ConversionReconciliationService.
+ */
+@Service
+public class BaseCurrencyChangeService {
+
+    public enum JobStatus {
+        RUNNING, DONE, FAILED
+    }
+
+    /** Rotunjirea din SQL (ROUND, jumătate departe de zero) = applyRate (HALF_UP, 2 zecimale) */
+    private static final String UPDATE_GROUP_SQL = "UPDATE transactions "
+            + "SET amount_in_base_currency = ROUND(amount * ?, 2), conversion_status = ? "
+            + "WHERE user_id = ? AND currency = ? AND date = ?";
+
+    private static final String MARK_PENDING_SQL = "UPDATE transactions "
+            + "SET amount_in_base_currency = 0, conversion_status = '" + ConversionStatus.PENDING.name() + "' "
+            + "WHERE user_id = ?";
+
+    private static final String CONVERT_BUDGETS_SQL = "UPDATE category_budgets "
+            + "SET monthly_limit = ROUND(monthly_limit * ?, 2) WHERE user_id = ?";
+
+    private record RateGroup(String currency, LocalDate date, long count) {
+    }
+
+    /** Starea unui job; contoarele sunt actualizate din thread-urile executorului. */
+    public static final class Job {
+        private final String id;
+        private final Long userId;
+        private final String fromCurrency;
+        private final String toCurrency;
+        private final long total;
+        private final AtomicLong processed = new AtomicLong();
+        private final AtomicLong pending = new AtomicLong();
+        private volatile JobStatus status = JobStatus.RUNNING;
+        private volatile String error;
+
+        Job(String id, Long userId, String fromCurrency, String toCurrency, long total) {
+            this.id = id;
+            this.userId = userId;
+            this.fromCurrency = fromCurrency;
+            this.toCurrency = toCurrency;
+            this.total = total;
+        }
+    }
+
+    private final UserRepository userRepository;
+    private final MonthlyCategoryTotalRepository monthlyCategoryTotalRepository;
+    private final LedgerCache ledgerCache;
+    private final CurrencyConversionService currencyConversionService;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final AsyncTaskExecutor executor;
+    private final long chunkSize;
+    private final Cache<String, Job> jobs;
+    private final ConcurrentMap<Long, Job> runningByUser = new ConcurrentHashMap<>();
+
+    public BaseCurrencyChangeService(UserRepository userRepository,
+                                     MonthlyCategoryTotalRepository monthlyCategoryTotalRepository,
+                                     LedgerCache ledgerCache,
+                                     CurrencyConversionService currencyConversionService,
+                                     JdbcTemplate jdbcTemplate,
+                                     PlatformTransactionManager transactionManager,
+                                     @Qualifier("reconversionExecutor") AsyncTaskExecutor executor,
+                                     @Value("${currency.rebase.chunk-size:5000}") long chunkSize,
+                                     @Value("${currency.rebase.job-ttl:PT1H}") Duration jobTtl) {
+        this.userRepository = userRepository;
+        this.monthlyCategoryTotalRepository = monthlyCategoryTotalRepository;
+        this.ledgerCache = ledgerCache;
+        this.currencyConversionService = currencyConversionService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.executor = executor;
+        this.chunkSize = chunkSize;
+        this.jobs = Caffeine.newBuilder()
+                .expireAfterWrite(jobTtl)
+                .build();
+    }
+
+    /**
+     * Schimbă moneda de bază și pornește re-conversia; întoarce imediat job-ul (pentru progres).
+     */
+    public Job changeBaseCurrency(Long userId, String requestedCurrency) {
+        String target = requestedCurrency.trim().toUpperCase(Locale.ROOT);
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+        String current = (user.getBaseCurrency() != null && !user.getBaseCurrency().isBlank())
+                ? user.getBaseCurrency().trim().toUpperCase(Locale.ROOT)
+                : "RON";
+        Optional<RateQuote> todayRate = currencyConversionService.getRateQuote(current, target, null);
+        if (todayRate.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unsupported currency: " + target);
+        }
+
+        Job placeholder = new Job(UUID.randomUUID().toString(), userId, current, target, 0);
+        if (runningByUser.putIfAbsent(userId, placeholder) != null) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "A base currency change is already in progress");
+        }
+        try {
+            user.setBaseCurrency(target);
+            transactionTemplate.executeWithoutResult(status -> {
+                userRepository.save(user);
+                jdbcTemplate.update(MARK_PENDING_SQL, userId);
+                jdbcTemplate.update(CONVERT_BUDGETS_SQL, todayRate.get().rate(), userId);
+            });
+
+            List<RateGroup> groups = loadGroups(userId);
+            long total = groups.stream().mapToLong(RateGroup::count).sum();
+            Job job = new Job(placeholder.id, userId, current, target, total);
+            runningByUser.put(userId, job);
+            jobs.put(job.id, job);
+            run(job, groups);
+            return job;
+        } catch (RuntimeException e) {
+            runningByUser.remove(userId);
+            throw e;
+        }
+    }
+
+    public Optional<Job> findJob(String jobId, Long userId) {
+        Job job = jobs.getIfPresent(jobId);
+        if (job == null || !job.userId.equals(userId)) {
+            return Optional.empty();
+        }
+        return Optional.of(job);
+    }
+
+    public BaseCurrencyChangeJobDTO toDTO(Job job) {
+        long processed = job.processed.get();
+        int percent = job.total == 0 ? 100 : (int) (processed * 100 / job.total);
+        return BaseCurrencyChangeJobDTO.builder()
+                .jobId(job.id)
+                .status(job.status.name())
+                .fromCurrency(job.fromCurrency)
+                .toCurrency(job.toCurrency)
+                .totalTransactions(job.total)
+                .processedTransactions(processed)
+                .pendingTransactions(job.pending.get())
+                .percent(job.status == JobStatus.DONE ? 100 : Math.min(percent, 99))
+                .error(job.error)
+                .build();
+    }
+
+    private List<RateGroup> loadGroups(Long userId) {
+        return jdbcTemplate.query(
+                "SELECT currency, date, COUNT(*) FROM transactions WHERE user_id = ? GROUP BY currency, date",
+                (rs, i) -> new RateGroup(rs.getString(1), rs.getDate(2).toLocalDate(), rs.getLong(3)),
+                userId);
+    }
+
+    private void run(Job job, List<RateGroup> groups) {
+        List<CompletableFuture<Void>> chunks = new ArrayList<>();
+        List<RateGroup> chunk = new ArrayList<>();
+        long rows = 0;
+        for (RateGroup group : groups) {
+            chunk.add(group);
+            rows += group.count();
+            if (rows >= chunkSize) {
+                chunks.add(submitChunk(job, chunk));
+                chunk = new ArrayList<>();
+                rows = 0;
+            }
+        }
+        if (!chunk.isEmpty()) {
+            chunks.add(submitChunk(job, chunk));
+        }
+
+        CompletableFuture.allOf(chunks.toArray(new CompletableFuture[0]))
+                .whenCompleteAsync((ignored, error) -> {
+                    // Și după un eșec: rândurile rămase PENDING contează în rollup cu amount până le convertește worker-ul
+                    Throwable failure = error;
+                    try {
+                        rebuildRollup(job.userId);
+                    } catch (RuntimeException e) {
+                        failure = failure != null ? failure : e;
+                    }
+                    if (failure == null) {
+                        job.status = JobStatus.DONE;
+                    } else {
+                        Throwable cause = failure.getCause() != null ? failure.getCause() : failure;
+                        job.error = cause.getMessage() != null ? cause.getMessage() : "Base currency change failed";
+                        job.status = JobStatus.FAILED;
+                    }
+                    runningByUser.remove(job.userId, job);
+                }, executor);
+    }
+
+    private void rebuildRollup(Long userId) {
+        transactionTemplate.executeWithoutResult(status -> {
+            monthlyCategoryTotalRepository.deleteByUserId(userId);
+            monthlyCategoryTotalRepository.rebuildForUser(userId);
+            ledgerCache.invalidate(userId);
+        });
+    }
+
+    private CompletableFuture<Void> submitChunk(Job job, List<RateGroup> groups) {
+        return CompletableFuture.runAsync(() -> convertChunk(job, groups), executor);
+    }
+
+    private void convertChunk(Job job, List<RateGroup> groups) {
+        List<Object[]> updates = new ArrayList<>(groups.size());
+        long pending = 0;
+        long rows = 0;
+        for (RateGroup group : groups) {
+            Optional<RateQuote> quote;
+            try {
+                quote = currencyConversionService.getRateQuote(group.currency(), job.toCurrency, group.date());
+            } catch (RuntimeException e) {
+                quote = Optional.empty();
+            }
+            BigDecimal rate = quote.map(RateQuote::rate).orElse(BigDecimal.ZERO);
+            ConversionStatus status = quote.isEmpty() ? ConversionStatus.PENDING
+                    : quote.get().provisional() ? ConversionStatus.PROVISIONAL
+                    : ConversionStatus.FINAL;
+            if (quote.isEmpty()) {
+                pending += group.count();
+            }
+            rows += group.count();
+            updates.add(new Object[]{rate, status.name(), job.userId, group.currency(), Date.valueOf(group.date())});
+        }
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(UPDATE_GROUP_SQL, updates));
+        job.pending.addAndGet(pending);
+        job.processed.addAndGet(rows);
+    }
+}
@@ -0,0 +1,123 @@
+package com.budget.backend.service;
+
+import com.budget.backend.dto.request.BudgetRequestDTO;
+import com.budget.backend.dto.response.BudgetStatusDTO;
+import com.budget.backend.dto.response.BudgetUsageDTO;
+import com.budget.backend.entity.Category;
+import com.budget.backend.entity.CategoryBudget;
+import com.budget.backend.entity.TransactionType;
+import com.budget.backend.repository.CategoryBudgetRepository;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Bugete lunare pe categorie de cheltuieli.
+ *
+ * Cheltuiala lunii e totalul (user, lună, categorie) din monthly_category_totals, actualizat de MonthlyRollupService
+ * în aceeași tranzacție cu scrierea; verificarea la scriere e deci un singur SELECT pe chei primare, indiferent
+ * câte tranzacții are luna.
+ */
+@Service
+public class BudgetService {
+
+    public enum BudgetState {
+        OK, WARNING, EXCEEDED
+    }
+
+    public static final int DEFAULT_ALERT_THRESHOLD = 80;
+
+    private final CategoryBudgetRepository categoryBudgetRepository;
+    private final CategoryRegistry categoryRegistry;
+
+    public BudgetService(CategoryBudgetRepository categoryBudgetRepository, CategoryRegistry categoryRegistry) {
+        this.categoryBudgetRepository = categoryBudgetRepository;
+        this.categoryRegistry = categoryRegistry;
+    }
+
+    @Transactional
+    public BudgetStatusDTO setBudget(Long userId, Long categoryId, BudgetRequestDTO request) {
+        Category category = categoryRegistry.findById(categoryId)
+                .orElseThrow(() -> new RuntimeException("Category not found"));
+        if (category.getType() != TransactionType.EXPENSE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Budgets can only be set on expense categories");
+        }
+        int threshold = request.getAlertThresholdPercent() != null
+                ? request.getAlertThresholdPercent()
+                : DEFAULT_ALERT_THRESHOLD;
+        categoryBudgetRepository.save(new CategoryBudget(userId, categoryId,
+                request.getMonthlyLimit().setScale(Money.SCALE, RoundingMode.HALF_UP), threshold));
+
+        LocalDate month = MonthlyRollupService.monthStart(LocalDate.now());
+        return categoryBudgetRepository.findUsage(userId, categoryId, month)
+                .map(usage -> toDTO(usage, month))
+                .orElseThrow(() -> new RuntimeException("Budget not found"));
+    }
+
+    @Transactional
+    public void deleteBudget(Long userId, Long categoryId) {
+        CategoryBudget.Key key = new CategoryBudget.Key(userId, categoryId);
+        if (!categoryBudgetRepository.existsById(key)) {
+            throw new RuntimeException("Budget not found");
+        }
+        categoryBudgetRepository.deleteById(key);
+    }
+
+    /** Toate bugetele utilizatorului pentru luna care conține date */
+    public List<BudgetStatusDTO> getStatus(Long userId, LocalDate date) {
+        LocalDate month = MonthlyRollupService.monthStart(date);
+        return categoryBudgetRepository.findUsageByUserId(userId, month).stream()
+                .map(usage -> toDTO(usage, month))
+                .toList();
+    }
+
+    /**
+     * Apelat din tranzacția care scrie, după MonthlyRollupService: delta = cât a crescut cheltuiala (lună, categorie)
+     * prin această scriere. Întoarce starea bugetului doar dacă scrierea a trecut pragul de avertizare sau limita.
+     */
+    public Optional<BudgetStatusDTO> checkAfterWrite(Long userId, LocalDate date, Long categoryId, BigDecimal delta) {
+        if (delta.signum() <= 0 || categoryRegistry.findById(categoryId)
+                .map(c -> c.getType() != TransactionType.EXPENSE)
+                .orElse(true)) {
+            return Optional.empty();
+        }
+        LocalDate month = MonthlyRollupService.monthStart(date);
+        return categoryBudgetRepository.findUsage(userId, categoryId, month)
+                .filter(usage -> state(usage, usage.getSpent()).compareTo(state(usage, usage.getSpent().subtract(delta))) > 0)
+                .map(usage -> toDTO(usage, month));
+    }
+
+    private static BudgetState state(BudgetUsageDTO usage, BigDecimal spent) {
+        if (spent.compareTo(usage.getMonthlyLimit()) > 0) {
+            return BudgetState.EXCEEDED;
+        }
+        BigDecimal warnAt = usage.getMonthlyLimit().multiply(BigDecimal.valueOf(usage.getAlertThresholdPercent()))
+                .divide(BigDecimal.valueOf(100), Money.SCALE, RoundingMode.HALF_UP);
+        return spent.compareTo(warnAt) >= 0 ? BudgetState.WARNING : BudgetState.OK;
+    }
+
+    private BudgetStatusDTO toDTO(BudgetUsageDTO usage, LocalDate month) {
+        BigDecimal spent = usage.getSpent();
+        int percent = spent.multiply(BigDecimal.valueOf(100))
+                .divide(usage.getMonthlyLimit(), 0, RoundingMode.DOWN)
+                .intValue();
+        return BudgetStatusDTO.builder()
+                .categoryId(usage.getCategoryId())
+                .categoryName(categoryRegistry.findById(usage.getCategoryId()).map(Category::getName).orElse(null))
+                .monthStart(month)
+                .monthlyLimit(usage.getMonthlyLimit())
+                .spent(spent)
+                .remaining(usage.getMonthlyLimit().subtract(spent))
+                .percentUsed(percent)
+                .alertThresholdPercent(usage.getAlertThresholdPercent())
+                .status(state(usage, spent).name())
+                .build();
+    }
+}
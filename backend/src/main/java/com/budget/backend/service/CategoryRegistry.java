@@ -0,0 +1,82 @@
+package com.budget.backend.service;
+
+import com.budget.backend.entity.Category;
+import com.budget.backend.entity.TransactionType;
+import com.budget.backend.repository.CategoryRepository;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Catalogul de categorii ținut în memorie: tabela are câteva rânduri și se schimbă practic doar la seeding.
+ *
+ * Un snapshot imutabil (liste nemodificabile de copii detașate) e înlocuit atomic la refresh():
+ * după seeding (CategoryService) și periodic, ca să prindă modificări făcute din afara acestei instanțe.
+ * Copiile pot fi puse direct pe Transaction.category: Hibernate folosește doar id-ul pentru cheia străină.
+ */
+@Component
+public class CategoryRegistry {
+
+    /** Versiunea catalogului (ETag) + indexurile folosite pe citire și la validarea scrierilor. */
+    public record Snapshot(List<Category> all, Map<Long, Category> byId,
+                           Map<TransactionType, List<Category>> byType, String version) {
+    }
+
+    private final CategoryRepository categoryRepository;
+    private volatile Snapshot snapshot;
+
+    public CategoryRegistry(CategoryRepository categoryRepository) {
+        this.categoryRepository = categoryRepository;
+    }
+
+    public Snapshot snapshot() {
+        Snapshot current = snapshot;
+        return current != null ? current : refresh();
+    }
+
+    public List<Category> getAll() {
+        return snapshot().all();
+    }
+
+    public List<Category> getByType(TransactionType type) {
+        return snapshot().byType().getOrDefault(type, List.of());
+    }
+
+    public Optional<Category> findById(Long id) {
+        return id == null ? Optional.empty() : Optional.ofNullable(snapshot().byId().get(id));
+    }
+
+    @Scheduled(fixedDelayString = "${categories.registry.refresh-interval:PT5M}",
+            initialDelayString = "${categories.registry.refresh-interval:PT5M}")
+    public synchronized Snapshot refresh() {
+        List<Category> all = categoryRepository.findAll().stream()
+                .map(c -> new Category(c.getId(), c.getName(), c.getType()))
+                .sorted(Comparator.comparing(Category::getId))
+                .toList();
+        Map<TransactionType, List<Category>> byType = new EnumMap<>(TransactionType.class);
+        for (TransactionType type : TransactionType.values()) {
+            byType.put(type, all.stream().filter(c -> c.getType() == type).toList());
+        }
+        Snapshot next = new Snapshot(all,
+                all.stream().collect(Collectors.toUnmodifiableMap(Category::getId, Function.identity())),
+                Map.copyOf(byType),
+                version(all));
+        snapshot = next;
+        return next;
+    }
+
+    private static String version(List<Category> categories) {
+        String content = categories.stream()
+                .map(c -> c.getId() + "|" + c.getName() + "|" + c.getType() + "\n")
+                .collect(Collectors.joining());
+        return HexFormat.of().formatHex(Hashing.sha256(content), 0, 8);
+    }
+}
@@ -14,10 +14,14 @@ public class CategoryService {
     @Autowired
     private CategoryRepository categoryRepository;
 
+    @Autowired
+    private CategoryRegistry categoryRegistry;
+
     @PostConstruct
     public void initializeDefaultCategories() {
         // Verifică dacă categoriile există deja
         if (categoryRepository.count() > 0) {
+            categoryRegistry.refresh();
             return; // Categoriile sunt deja create
         }
 
@@ -38,6 +42,9 @@ public class CategoryService {
         createCategoryIfNotExists("Investment", TransactionType.INCOME);
         createCategoryIfNotExists("Gift", TransactionType.INCOME);
         createCategoryIfNotExists("Other Income", TransactionType.INCOME);
+
+        // Catalogul din memorie trebuie să vadă categoriile tocmai create
+        categoryRegistry.refresh();
     }
     private void createCategoryIfNotExists(String name, TransactionType type) {
         if (!categoryRepository.existsByName(name)) {
@@ -47,12 +54,18 @@ public class CategoryService {
             categoryRepository.save(category);
         }
     }
+    /** Din CategoryRegistry: fără query la fiecare apel */
     public List<Category> getAllCategories() {
-        return categoryRepository.findAll();
+        return categoryRegistry.getAll();
     }
 
     public List<Category> getCategoriesByType(TransactionType type) {
-        return categoryRepository.findByType(type);
+        return categoryRegistry.getByType(type);
+    }
+
+    /** Versiunea catalogului, pentru ETag */
+    public String getCatalogVersion() {
+        return categoryRegistry.snapshot().version();
     }
 
 }
@@ -0,0 +1,132 @@
+package com.budget.backend.service;
+
+import com.budget.backend.client.RateQuote;
+import com.budget.backend.entity.ConversionStatus;
+import com.budget.backend.entity.Transaction;
+import com.budget.backend.repository.TransactionRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Completează în fundal conversia în moneda de bază:
+ * - PENDING (salvate în modul currency.conversion.deferred): primesc cursul exact sau, dacă upstream-ul e căzut,
+ *   cel de rezervă (devin PROVISIONAL);
+ * - PROVISIONAL: se recalculează doar când cursul exact devine disponibil.
+ *
+ * Rândurile se grupează pe (monedă, monedă de bază, dată), deci un singur lookup de curs per grup.
+ * Scrierea e condiționată (completeConversion), iar rollup-ul lunar primește diferența față de suma folosită până atunci.
+ */
+@Service
+public class ConversionReconciliationService {
+
+    private static final Set<ConversionStatus> OPEN_STATUSES = Set.of(ConversionStatus.PENDING, ConversionStatus.PROVISIONAL);
+
+    private record RateGroup(String currency, String baseCurrency, LocalDate date) {
+    }
+
+    private final TransactionRepository transactionRepository;
+    private final CurrencyConversionService currencyConversionService;
+    private final MonthlyRollupService monthlyRollupService;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+
+    /** Cursorul pe id: rândurile care nu se pot converti acum nu blochează restul cozii */
+    private long lastId;
+
+    public ConversionReconciliationService(TransactionRepository transactionRepository,
+                                           CurrencyConversionService currencyConversionService,
+                                           MonthlyRollupService monthlyRollupService,
+                                           PlatformTransactionManager transactionManager,
+                                           @Value("${currency.conversion.batch-size:500}") int batchSize) {
+        this.transactionRepository = transactionRepository;
+        this.currencyConversionService = currencyConversionService;
+        this.monthlyRollupService = monthlyRollupService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(fixedDelayString = "${currency.conversion.worker-delay:PT30S}",
+            initialDelayString = "${currency.conversion.worker-delay:PT30S}")
+    public void reconcileScheduled() {
+        reconcileBatch();
+    }
+
+    /**
+     * Procesează următorul lot din coadă; întoarce câte rânduri au fost actualizate.
+     */
+    public synchronized int reconcileBatch() {
+        List<Transaction> rows = transactionRepository.findForConversion(OPEN_STATUSES, lastId, Limit.of(batchSize));
+        lastId = rows.size() < batchSize ? 0 : rows.get(rows.size() - 1).getId();
+        if (rows.isEmpty()) {
+            return 0;
+        }
+
+        Map<RateGroup, List<Transaction>> groups = new LinkedHashMap<>();
+        for (Transaction row : rows) {
+            groups.computeIfAbsent(new RateGroup(row.getCurrency().toUpperCase(), baseCurrency(row), row.getDate()),
+                    k -> new ArrayList<>()).add(row);
+        }
+
+        int updated = 0;
+        for (Map.Entry<RateGroup, List<Transaction>> group : groups.entrySet()) {
+            Optional<RateQuote> quote;
+            try {
+                RateGroup key = group.getKey();
+                quote = currencyConversionService.getRateQuote(key.currency(), key.baseCurrency(), key.date());
+            } catch (RuntimeException e) {
+                quote = Optional.empty();
+            }
+            if (quote.isPresent()) {
+                updated += apply(group.getValue(), quote.get());
+            }
+        }
+        return updated;
+    }
+
+    private int apply(List<Transaction> rows, RateQuote quote) {
+        Integer updated = transactionTemplate.execute(status -> {
+            int count = 0;
+            for (Transaction row : rows) {
+                // Un curs de rezervă nu îmbunătățește un rând deja PROVISIONAL
+                if (quote.provisional() && row.getConversionStatus() == ConversionStatus.PROVISIONAL) {
+                    continue;
+                }
+                BigDecimal amountInBase = currencyConversionService.applyRate(row.getAmount(), quote.rate());
+                ConversionStatus newStatus = quote.provisional() ? ConversionStatus.PROVISIONAL : ConversionStatus.FINAL;
+                Long categoryId = row.getCategory().getId();
+                int changed = transactionRepository.completeConversion(row.getId(), amountInBase, newStatus,
+                        row.getConversionStatus(), row.getAmount(), row.getCurrency(), row.getDate(), categoryId);
+                if (changed == 1) {
+                    BigDecimal before = row.effectiveAmountInBase();
+                    // Entitatea gestionată trebuie să rămână identică cu rândul: UPDATE-ul următor face auto-flush,
+                    // iar un status vechi în memorie ar rescrie PENDING peste FINAL
+                    row.setAmountInBaseCurrency(amountInBase);
+                    row.setConversionStatus(newStatus);
+                    monthlyRollupService.adjust(row.getUser().getId(), row.getDate(), categoryId,
+                            row.effectiveAmountInBase().subtract(before));
+                    count++;
+                }
+            }
+            return count;
+        });
+        return updated != null ? updated : 0;
+    }
+
+    private static String baseCurrency(Transaction row) {
+        String base = row.getUser().getBaseCurrency();
+        return (base != null && !base.isBlank()) ? base.trim().toUpperCase() : "RON";
+    }
+}
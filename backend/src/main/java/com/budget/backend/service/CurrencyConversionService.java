@@ -1,6 +1,7 @@
 package com.budget.backend.service;
 
 import com.budget.backend.client.ExchangeRateClient;
+import com.budget.backend.client.RateQuote;
 import com.budget.backend.dto.request.ConvertRequestDTO;
 import com.budget.backend.dto.response.ConversionResponseDTO;
 import org.springframework.stereotype.Service;
@@ -60,10 +61,50 @@ public class CurrencyConversionService {
         if (from.equals(to)) {
             return amount.setScale(SCALE, RoundingMode.HALF_UP);
         }
-        Optional<BigDecimal> rateOpt = exchangeRateClient.getExchangeRate(from, to, rateDate != null ? rateDate : LocalDate.now());
+        Optional<BigDecimal> rateOpt = getRate(from, to, rateDate);
         if (rateOpt.isEmpty()) {
             throw new RuntimeException("Exchange rate not available for " + from + " -> " + to);
         }
-        return amount.multiply(rateOpt.get()).setScale(SCALE, RoundingMode.HALF_UP);
+        return applyRate(amount, rateOpt.get());
+    }
+
+    /**
+     * Cursul from -> to la data dată (azi dacă data lipsește); pentru operațiile în masă,
+     * care cer cursul o singură dată per (monedă, dată) și apoi aplică {@link #applyRate}.
+     */
+    public Optional<BigDecimal> getRate(String fromCurrency, String toCurrency, LocalDate rateDate) {
+        String from = fromCurrency.toUpperCase();
+        String to = toCurrency.toUpperCase();
+        if (from.equals(to)) {
+            return Optional.of(BigDecimal.ONE);
+        }
+        return exchangeRateClient.getExchangeRate(from, to, rateDate != null ? rateDate : LocalDate.now());
+    }
+
+    /**
+     * Ca getRate, dar cu fallback la ultimul curs cunoscut când upstream-ul e indisponibil (quote.provisional()).
+     */
+    public Optional<RateQuote> getRateQuote(String fromCurrency, String toCurrency, LocalDate rateDate) {
+        String from = fromCurrency.toUpperCase();
+        String to = toCurrency.toUpperCase();
+        if (from.equals(to)) {
+            return Optional.of(RateQuote.exact(BigDecimal.ONE));
+        }
+        return exchangeRateClient.getRateQuote(from, to, rateDate != null ? rateDate : LocalDate.now());
+    }
+
+    /**
+     * amount * rate rotunjit HALF_UP la 2 zecimale. Sumele cu cel mult 2 zecimale trec prin Money (aritmetică pe long,
+     * același rezultat); restul, sau o depășire, prin BigDecimal.
+     */
+    public BigDecimal applyRate(BigDecimal amount, BigDecimal rate) {
+        if (amount.scale() <= SCALE) {
+            try {
+                return Money.toBigDecimal(Money.multiplyByRate(Money.toMinor(amount), rate));
+            } catch (ArithmeticException overflow) {
+                // nu încape în long: calculul exact de mai jos
+            }
+        }
+        return amount.multiply(rate).setScale(SCALE, RoundingMode.HALF_UP);
     }
 }
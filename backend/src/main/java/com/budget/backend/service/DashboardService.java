@@ -2,40 +2,230 @@ package com.budget.backend.service;
 
 
 import com.budget.backend.dto.response.CategoryExpenseDTO;
+import com.budget.backend.dto.response.CategoryTotalDTO;
+import com.budget.backend.dto.response.DailyCategoryTotalDTO;
 import com.budget.backend.dto.response.DashboardStatisticsDTO;
-import com.budget.backend.entity.User;
+import com.budget.backend.dto.response.TimeSeriesDTO;
+import com.budget.backend.dto.response.TimeSeriesPointDTO;
+import com.budget.backend.entity.TransactionType;
+import com.budget.backend.repository.MonthlyCategoryTotalRepository;
 import com.budget.backend.repository.TransactionRepository;
-import com.budget.backend.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.math.BigDecimal;
+import java.time.DayOfWeek;
 import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
 
 @Service
 public class DashboardService {
+
+    /** Mărimea unei perioade din seria de timp; săptămânile încep luni (ISO) */
+    public enum Granularity {
+        DAY, WEEK, MONTH
+    }
+
     private final TransactionRepository transactionRepository;
-    private final UserRepository userRepository;
+    private final MonthlyCategoryTotalRepository monthlyCategoryTotalRepository;
+    private final LedgerCache ledgerCache;
+    private final int maxTimeSeriesPoints;
 
-    public DashboardService(TransactionRepository transactionRepository, UserRepository userRepository) {
+    public DashboardService(TransactionRepository transactionRepository,
+                            MonthlyCategoryTotalRepository monthlyCategoryTotalRepository,
+                            LedgerCache ledgerCache,
+                            @Value("${dashboard.timeseries.max-points:1000}") int maxTimeSeriesPoints) {
         this.transactionRepository = transactionRepository;
-        this.userRepository = userRepository;
+        this.monthlyCategoryTotalRepository = monthlyCategoryTotalRepository;
+        this.ledgerCache = ledgerCache;
+        this.maxTimeSeriesPoints = maxTimeSeriesPoints;
     }
 
+    /**
+     * userId din JWT e folosit direct, fără a încărca User-ul.
+     * Cu LedgerCache activ totalurile vin din memorie. Altfel lunile întregi din interval vin din rollup-ul lunar (O(luni));
+     * doar zilele parțiale de la capete se agregă din tranzacții. Un interval fără nicio lună întreagă rămâne un singur query.
+     */
     public DashboardStatisticsDTO getStatistics(Long userId, LocalDate startDate, LocalDate endDate) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+        List<CategoryTotalDTO> totals = sumByCategory(userId, startDate, endDate);
 
-        BigDecimal totalIncome = transactionRepository.sumIncomeByUserAndDateBetween(user, startDate, endDate);
-        BigDecimal totalExpense = transactionRepository.sumExpenseByUserAndDateBetween(user, startDate, endDate);
-        BigDecimal balance = totalIncome.subtract(totalExpense);
-        List<CategoryExpenseDTO> expensesByCategory = transactionRepository.getExpensesByCategory(user, startDate, endDate);
+        BigDecimal totalIncome = BigDecimal.ZERO;
+        BigDecimal totalExpense = BigDecimal.ZERO;
+        List<CategoryExpenseDTO> expensesByCategory = new ArrayList<>();
+        for (CategoryTotalDTO row : totals) {
+            BigDecimal amount = row.getTotalAmount() != null ? row.getTotalAmount() : BigDecimal.ZERO;
+            if (row.getType() == TransactionType.INCOME) {
+                totalIncome = totalIncome.add(amount);
+            } else {
+                totalExpense = totalExpense.add(amount);
+                expensesByCategory.add(new CategoryExpenseDTO(row.getCategoryName(), row.getCategoryId(), amount));
+            }
+        }
 
         return DashboardStatisticsDTO.builder()
-                .totalIncome(totalIncome != null ? totalIncome : BigDecimal.ZERO)
-                .totalExpense(totalExpense != null ? totalExpense : BigDecimal.ZERO)
-                .balance(balance != null ? balance : BigDecimal.ZERO)
+                .totalIncome(totalIncome)
+                .totalExpense(totalExpense)
+                .balance(totalIncome.subtract(totalExpense))
                 .expensesByCategory(expensesByCategory)
                 .build();
     }
+
+    /**
+     * Venituri/cheltuieli/categorii pe fiecare perioadă din [startDate, endDate], dintr-un singur query
+     * (totaluri pe zi și categorie). Perioadele fără tranzacții apar cu zero, deci graficul nu are găuri.
+     */
+    public TimeSeriesDTO getTimeSeries(Long userId, LocalDate startDate, LocalDate endDate, Granularity granularity) {
+        long points = switch (granularity) {
+            case DAY -> ChronoUnit.DAYS.between(startDate, endDate) + 1;
+            case WEEK -> ChronoUnit.WEEKS.between(bucketStart(startDate, granularity), endDate) + 1;
+            case MONTH -> ChronoUnit.MONTHS.between(YearMonth.from(startDate), YearMonth.from(endDate)) + 1;
+        };
+        if (points > maxTimeSeriesPoints) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Range too large for " + granularity.name().toLowerCase(Locale.ROOT) + " granularity (max "
+                            + maxTimeSeriesPoints + " points)");
+        }
+
+        // Perioadele în ordine, deja umplute cu zero; rândurile din query se adună (în bani, pe long) în perioada lor
+        Map<LocalDate, Map<Long, CategoryAccumulator>> buckets = new LinkedHashMap<>();
+        for (LocalDate bucket = bucketStart(startDate, granularity); !bucket.isAfter(endDate);
+             bucket = nextBucket(bucket, granularity)) {
+            buckets.put(bucket, new LinkedHashMap<>());
+        }
+        List<DailyCategoryTotalDTO> rows = ledgerCache.isEnabled()
+                ? ledgerCache.sumByDayAndCategory(userId, startDate, endDate)
+                        .orElseGet(() -> transactionRepository.sumByDayAndCategoryForUserAndDateBetween(userId, startDate, endDate))
+                : transactionRepository.sumByDayAndCategoryForUserAndDateBetween(userId, startDate, endDate);
+        for (DailyCategoryTotalDTO row : rows) {
+            CategoryAccumulator total = buckets.get(bucketStart(row.getDate(), granularity))
+                    .computeIfAbsent(row.getCategoryId(), id -> new CategoryAccumulator(row.getType(), id, row.getCategoryName()));
+            total.add(row.getTotalAmount());
+        }
+
+        List<TimeSeriesPointDTO> series = new ArrayList<>(buckets.size());
+        for (Map.Entry<LocalDate, Map<Long, CategoryAccumulator>> bucket : buckets.entrySet()) {
+            long income = 0;
+            long expense = 0;
+            List<CategoryTotalDTO> categories = new ArrayList<>(bucket.getValue().size());
+            for (CategoryAccumulator total : bucket.getValue().values()) {
+                if (total.type == TransactionType.INCOME) {
+                    income = Math.addExact(income, total.minor);
+                } else {
+                    expense = Math.addExact(expense, total.minor);
+                }
+                categories.add(total.toDTO());
+            }
+            LocalDate periodStart = bucket.getKey().isBefore(startDate) ? startDate : bucket.getKey();
+            LocalDate periodEnd = nextBucket(bucket.getKey(), granularity).minusDays(1);
+            series.add(TimeSeriesPointDTO.builder()
+                    .periodStart(periodStart)
+                    .periodEnd(periodEnd.isAfter(endDate) ? endDate : periodEnd)
+                    .totalIncome(Money.toBigDecimal(income))
+                    .totalExpense(Money.toBigDecimal(expense))
+                    .balance(Money.toBigDecimal(Math.subtractExact(income, expense)))
+                    .categories(categories)
+                    .build());
+        }
+
+        return TimeSeriesDTO.builder()
+                .granularity(granularity.name())
+                .from(startDate)
+                .to(endDate)
+                .points(series)
+                .build();
+    }
+
+    private static LocalDate bucketStart(LocalDate date, Granularity granularity) {
+        return switch (granularity) {
+            case DAY -> date;
+            case WEEK -> date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            case MONTH -> date.withDayOfMonth(1);
+        };
+    }
+
+    private static LocalDate nextBucket(LocalDate bucketStart, Granularity granularity) {
+        return switch (granularity) {
+            case DAY -> bucketStart.plusDays(1);
+            case WEEK -> bucketStart.plusWeeks(1);
+            case MONTH -> bucketStart.plusMonths(1);
+        };
+    }
+
+    private List<CategoryTotalDTO> sumByCategory(Long userId, LocalDate startDate, LocalDate endDate) {
+        if (ledgerCache.isEnabled()) {
+            Optional<List<CategoryTotalDTO>> cached = ledgerCache.sumByCategory(userId, startDate, endDate);
+            if (cached.isPresent()) {
+                return cached.get();
+            }
+        }
+
+        // Prima lună întreagă începe la startDate dacă e 1 a lunii, altfel luna următoare
+        LocalDate firstFullMonth = startDate.getDayOfMonth() == 1
+                ? startDate
+                : startDate.withDayOfMonth(1).plusMonths(1);
+        // Ultima lună întreagă se termină la endDate dacă e ultima zi a lunii, altfel luna precedentă
+        LocalDate afterLastFullMonth = endDate.equals(endDate.withDayOfMonth(endDate.lengthOfMonth()))
+                ? endDate.plusDays(1)
+                : endDate.withDayOfMonth(1);
+
+        if (!firstFullMonth.isBefore(afterLastFullMonth)) {
+            return transactionRepository.sumByCategoryForUserAndDateBetween(userId, startDate, endDate);
+        }
+
+        List<CategoryTotalDTO> fullMonths = monthlyCategoryTotalRepository.sumByCategoryForUserAndMonthBetween(
+                userId, firstFullMonth, afterLastFullMonth.minusMonths(1));
+        List<CategoryTotalDTO> edges = transactionRepository.sumByCategoryForUserAndDateRanges(
+                userId,
+                startDate, firstFullMonth.minusDays(1),
+                afterLastFullMonth, endDate);
+        return merge(fullMonths, edges);
+    }
+
+    private static List<CategoryTotalDTO> merge(List<CategoryTotalDTO> a, List<CategoryTotalDTO> b) {
+        Map<Long, CategoryAccumulator> byCategory = new LinkedHashMap<>();
+        for (List<CategoryTotalDTO> rows : List.of(a, b)) {
+            for (CategoryTotalDTO row : rows) {
+                byCategory.computeIfAbsent(row.getCategoryId(),
+                                id -> new CategoryAccumulator(row.getType(), id, row.getCategoryName()))
+                        .add(row.getTotalAmount());
+            }
+        }
+        List<CategoryTotalDTO> merged = new ArrayList<>(byCategory.size());
+        byCategory.values().forEach(total -> merged.add(total.toDTO()));
+        return merged;
+    }
+
+    /** Totalul unei categorii ținut în bani (Money); BigDecimal doar în DTO-ul final */
+    private static final class CategoryAccumulator {
+        private final TransactionType type;
+        private final Long categoryId;
+        private final String categoryName;
+        private long minor;
+
+        CategoryAccumulator(TransactionType type, Long categoryId, String categoryName) {
+            this.type = type;
+            this.categoryId = categoryId;
+            this.categoryName = categoryName;
+        }
+
+        void add(BigDecimal amount) {
+            if (amount != null) {
+                minor = Math.addExact(minor, Money.toMinorRounded(amount));
+            }
+        }
+
+        CategoryTotalDTO toDTO() {
+            return new CategoryTotalDTO(type, categoryId, categoryName, Money.toBigDecimal(minor));
+        }
+    }
 }
@@ -57,7 +57,10 @@ public class FinancialReportService {
         );
     }
 
-    private String formatTopExpenseCategories(List<CategoryExpenseDTO> expensesByCategory) {
+    /**
+     * Top 5 categorii de cheltuieli pentru prompt; public pentru benchmark-uri.
+     */
+    public String formatTopExpenseCategories(List<CategoryExpenseDTO> expensesByCategory) {
         if (expensesByCategory == null || expensesByCategory.isEmpty()) {
             return "— (fără cheltuieli pe categorii în perioadă)";
         }
@@ -1,16 +1,23 @@
 package com.budget.backend.service;
 
 import com.budget.backend.entity.User;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import javax.crypto.SecretKey;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
 import java.util.function.Function;
 
 /**
@@ -18,21 +25,48 @@ import java.util.function.Function;
  *
  * Versiunea JWT: 0.12.3
  * API corect: Jwts.parser() (nu parserBuilder())
+ *
+ * Cheia de semnare și parser-ul se construiesc o singură dată (sunt thread-safe).
+ * Token-urile verificate sunt ținute într-un cache mărginit, cheiat pe hash-ul token-ului,
+ * până la expirarea lor — un request cu același token nu mai reverifică semnătura HMAC.
  */
 @Service
 public class JwtService {
 
-    @Value("${jwt.secret}")
-    private String secretKey;
-
-    @Value("${jwt.expiration:86400000}")
-    private Long expiration;
+    /**
+     * Datele extrase dintr-un token cu semnătură validă și neexpirat.
+     */
+    public record VerifiedToken(Long userId, String username, String role, Instant expiresAt) {
+    }
 
     /**
      * Generează un JWT token pentru un utilizator
      */
     public static final String CLAIM_USER_ID = "userId";
 
+    private final SecretKey signingKey;
+    private final JwtParser parser;
+    private final Long expiration;
+    private final Cache<String, VerifiedToken> verifiedTokens;
+
+    public JwtService(
+            @Value("${jwt.secret}") String secretKey,
+            @Value("${jwt.expiration:86400000}") Long expiration,
+            @Value("${jwt.cache.max-size:10000}") long cacheMaxSize) {
+        this.signingKey = Keys.hmacShaKeyFor(secretKey.getBytes());
+        this.parser = Jwts.parser()  // În 0.12.3 folosim parser() nu parserBuilder()
+                .verifyWith(signingKey)  // verifyWith() nu setSigningKey()
+                .build();
+        this.expiration = expiration;
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfter(Expiry.creating((String hash, VerifiedToken verified) -> {
+                    Duration left = Duration.between(Instant.now(), verified.expiresAt());
+                    return left.isNegative() ? Duration.ZERO : left;
+                }))
+                .build();
+    }
+
     public String generateToken(User user) {
         Map<String, Object> claims = new HashMap<>();
         claims.put(CLAIM_USER_ID, user.getId());
@@ -44,20 +78,55 @@ public class JwtService {
                 .subject(user.getUsername())
                 .issuedAt(new Date(System.currentTimeMillis()))
                 .expiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(getSigningKey())
+                .signWith(signingKey)
                 .compact();
     }
 
+    /**
+     * Verifică token-ul o singură dată și întoarce tot ce îi trebuie filtrului de autentificare.
+     * Empty dacă semnătura e invalidă, token-ul a expirat sau lipsesc userId/subject.
+     */
+    public Optional<VerifiedToken> verifyToken(String token) {
+        // Cheia din cache: nu ținem token-urile brute în memorie
+        String key = Hashing.sha256Base64(token);
+        VerifiedToken cached = verifiedTokens.getIfPresent(key);
+        if (cached != null && cached.expiresAt().isAfter(Instant.now())) {
+            return Optional.of(cached);
+        }
+        VerifiedToken verified = parseAndVerify(token);
+        if (verified == null) {
+            return Optional.empty();
+        }
+        verifiedTokens.put(key, verified);
+        return Optional.of(verified);
+    }
+
+    /**
+     * Verificare completă (semnătură + expirare), fără cache.
+     */
+    public VerifiedToken parseAndVerify(String token) {
+        Claims claims;
+        try {
+            claims = extractAllClaims(token);
+        } catch (Exception e) {
+            return null;
+        }
+        Long userId = userIdOf(claims);
+        String username = claims.getSubject();
+        if (userId == null || username == null || claims.getExpiration() == null) {
+            return null;
+        }
+        Object role = claims.get("role");
+        return new VerifiedToken(userId, username, role != null ? role.toString() : null,
+                claims.getExpiration().toInstant());
+    }
+
     /**
      * Validează un JWT token
      */
     public boolean validateToken(String token) {
         try {
-            Jwts.parser()  // În 0.12.3 folosim parser() nu parserBuilder()
-                    .verifyWith(getSigningKey())  // verifyWith() nu setSigningKey()
-                    .build()
-                    .parseSignedClaims(token)  // parseSignedClaims() nu parseClaimsJws()
-                    .getPayload();
+            extractAllClaims(token);
             return true;
         } catch (Exception e) {
             return false;
@@ -72,7 +141,16 @@ public class JwtService {
     }
 
     public Long getUserIdFromToken(String token) {
-        Object raw = extractAllClaims(token).get(CLAIM_USER_ID);
+        return userIdOf(extractAllClaims(token));
+    }
+
+    public String getRoleFromToken(String token) {
+        Object raw = extractAllClaims(token).get("role");
+        return raw != null ? raw.toString() : null;
+    }
+
+    private static Long userIdOf(Claims claims) {
+        Object raw = claims.get(CLAIM_USER_ID);
         if (raw instanceof Number n) {
             return n.longValue();
         }
@@ -86,11 +164,6 @@ public class JwtService {
         return null;
     }
 
-    public String getRoleFromToken(String token) {
-        Object raw = extractAllClaims(token).get("role");
-        return raw != null ? raw.toString() : null;
-    }
-
     /**
      * Extrage un claim specific din token
      */
@@ -103,18 +176,8 @@ public class JwtService {
      * Extrage toate claim-urile din token
      */
     private Claims extractAllClaims(String token) {
-        return Jwts.parser()  // parser() nu parserBuilder()
-                .verifyWith(getSigningKey())  // verifyWith() nu setSigningKey()
-                .build()
+        return parser
                 .parseSignedClaims(token)  // parseSignedClaims() nu parseClaimsJws()
                 .getPayload();  // getPayload() nu getBody()
     }
-
-    /**
-     * Creează cheia de semnare din secret
-     */
-    private SecretKey getSigningKey() {
-        byte[] keyBytes = secretKey.getBytes();
-        return Keys.hmacShaKeyFor(keyBytes);
-    }
-}
\ No newline at end of file
+}
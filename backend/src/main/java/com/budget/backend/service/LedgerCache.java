@@ -0,0 +1,222 @@
+package com.budget.backend.service;
+
+import com.budget.backend.dto.response.CategoryTotalDTO;
+import com.budget.backend.dto.response.DailyCategoryTotalDTO;
+import com.budget.backend.entity.Category;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+/**
+ * Cache opțional (ledger.cache.enabled) cu tranzacțiile fiecărui utilizator în formă compactă (UserLedger),
+ * din care dashboard-ul și seriile de timp se calculează fără MySQL.
+ *
+ * - ledger-ul se încarcă la primul acces (un SELECT pe 3 coloane) și e evacuat LRU peste ledger.cache.max-rows rânduri în total;
+ * - scrierile (prin MonthlyRollupService) se aplică incremental după commit; un rollback nu atinge cache-ul;
+ * - o încărcare concurentă cu o scriere nu poate instala un snapshot greșit: o scriere începută înainte de încărcare
+ *   invalidează ledger-ul, iar o încărcare care a început înainte ca o scriere să se termine nu se instalează;
+ * - hook-urile văd doar scrierile din instanța curentă: cu mai multe instanțe în spatele unui load balancer,
+ *   scrierile făcute pe alta ajung aici abia când ledger-ul expiră (ledger.cache.ttl, de la încărcare),
+ *   deci ttl-ul e întârzierea maximă cu care dashboard-ul vede datele celorlalte instanțe.
+ */
+@Service
+public class LedgerCache {
+
+    private static final String LOAD_SQL = "SELECT date, category_id, COALESCE(NULLIF(amount_in_base_currency, 0), amount) "
+            + "FROM transactions WHERE user_id = ? ORDER BY date";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final CategoryRegistry categoryRegistry;
+    private final boolean enabled;
+    private final Cache<Long, UserLedger> ledgers;
+    /** Momentul (ceasul de mai jos) ultimei scrieri terminate, per utilizator; păstrat cât durează o încărcare */
+    private final Cache<Long, Long> lastWrite;
+    private final AtomicLong clock = new AtomicLong();
+
+    public LedgerCache(JdbcTemplate jdbcTemplate,
+                       CategoryRegistry categoryRegistry,
+                       @Value("${ledger.cache.enabled:false}") boolean enabled,
+                       @Value("${ledger.cache.max-rows:5000000}") long maxRows,
+                       @Value("${ledger.cache.ttl:PT10M}") Duration ttl) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.categoryRegistry = categoryRegistry;
+        this.enabled = enabled;
+        this.ledgers = Caffeine.newBuilder()
+                .maximumWeight(maxRows)
+                .weigher((Long userId, UserLedger ledger) -> Math.max(1, ledger.size()))
+                .expireAfterWrite(ttl)
+                .build();
+        this.lastWrite = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMinutes(10))
+                .build();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Totaluri pe categorie în [start, end], ca TransactionRepository.sumByCategoryForUserAndDateBetween.
+     * Gol dacă ledger-ul conține o categorie necunoscută registry-ului (apelantul cade pe DB).
+     */
+    public Optional<List<CategoryTotalDTO>> sumByCategory(Long userId, LocalDate start, LocalDate end) {
+        UserLedger.CategoryTotals totals = ledgerFor(userId).sumByCategory((int) start.toEpochDay(), (int) end.toEpochDay());
+
+        List<CategoryTotalDTO> result = new ArrayList<>();
+        for (int categoryId = 0; categoryId < totals.counts().length; categoryId++) {
+            if (totals.counts()[categoryId] == 0) {
+                continue;
+            }
+            Optional<Category> category = categoryRegistry.findById((long) categoryId);
+            if (category.isEmpty()) {
+                return Optional.empty();
+            }
+            result.add(new CategoryTotalDTO(category.get().getType(), category.get().getId(),
+                    category.get().getName(), toAmount(totals.totals()[categoryId])));
+        }
+        return Optional.of(result);
+    }
+
+    /**
+     * Ca TransactionRepository.sumByDayAndCategoryForUserAndDateBetween (ordonat după zi): rândurile unei zile
+     * se adună în categoriile registry-ului, apoi se emit la schimbarea zilei.
+     */
+    public Optional<List<DailyCategoryTotalDTO>> sumByDayAndCategory(Long userId, LocalDate start, LocalDate end) {
+        List<Category> known = categoryRegistry.getAll();
+        int size = known.stream().mapToInt(c -> c.getId().intValue()).max().orElse(0) + 1;
+        boolean[] isKnown = new boolean[size];
+        known.forEach(c -> isKnown[c.getId().intValue()] = true);
+        long[] dayTotals = new long[size];
+        int[] dayCounts = new int[size];
+        int[] currentDay = {Integer.MIN_VALUE};
+        boolean[] unknown = {false};
+        List<DailyCategoryTotalDTO> result = new ArrayList<>();
+        Runnable flush = () -> {
+            for (Category category : known) {
+                int categoryId = category.getId().intValue();
+                if (dayCounts[categoryId] > 0) {
+                    result.add(new DailyCategoryTotalDTO(LocalDate.ofEpochDay(currentDay[0]), category.getType(),
+                            category.getId(), category.getName(), toAmount(dayTotals[categoryId])));
+                    dayTotals[categoryId] = 0;
+                    dayCounts[categoryId] = 0;
+                }
+            }
+        };
+        ledgerFor(userId).forEach((int) start.toEpochDay(), (int) end.toEpochDay(), (epochDay, categoryId, amountMinor) -> {
+            if (epochDay != currentDay[0]) {
+                flush.run();
+                currentDay[0] = epochDay;
+            }
+            if (categoryId < size && isKnown[categoryId]) {
+                dayTotals[categoryId] = Math.addExact(dayTotals[categoryId], amountMinor);
+                dayCounts[categoryId]++;
+            } else {
+                unknown[0] = true;
+            }
+        });
+        flush.run();
+        return unknown[0] ? Optional.empty() : Optional.of(result);
+    }
+
+    /*
+     * Cârlige apelate din tranzacția care scrie (MonthlyRollupService); efectul apare după commit.
+     */
+
+    public void recordAdd(Long userId, LocalDate date, Long categoryId, BigDecimal amount) {
+        afterCommit(userId, ledger -> {
+            ledger.add((int) date.toEpochDay(), categoryId.intValue(), toMinor(amount));
+            return true;
+        });
+    }
+
+    public void recordRemove(Long userId, LocalDate date, Long categoryId, BigDecimal amount) {
+        afterCommit(userId, ledger -> ledger.remove((int) date.toEpochDay(), categoryId.intValue(), toMinor(amount)));
+    }
+
+    public void recordAdjust(Long userId, LocalDate date, Long categoryId, BigDecimal delta) {
+        afterCommit(userId, ledger -> ledger.adjust((int) date.toEpochDay(), categoryId.intValue(), toMinor(delta)));
+    }
+
+    /** Pentru scrieri în masă (import, schimbarea monedei de bază): ledger-ul se reîncarcă la următorul acces */
+    public void invalidate(Long userId) {
+        afterCommit(userId, ledger -> false);
+    }
+
+    private void afterCommit(Long userId, Predicate<UserLedger> change) {
+        if (!enabled) {
+            return;
+        }
+        long startedAt = clock.get();
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            complete(userId, startedAt, ledger -> false);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    complete(userId, startedAt, change);
+                }
+            }
+        });
+    }
+
+    /**
+     * Sub lock-ul cheii (compute): aplică modificarea sau evacuează ledger-ul, apoi marchează scrierea ca terminată.
+     * Un ledger încărcat după începutul scrierii poate conține deja rândul, deci nu se aplică peste el.
+     */
+    private void complete(Long userId, long startedAt, Predicate<UserLedger> change) {
+        ledgers.asMap().compute(userId, (id, ledger) -> {
+            lastWrite.put(id, clock.incrementAndGet());
+            if (ledger == null) {
+                return null;
+            }
+            return ledger.loadedAt() <= startedAt && change.test(ledger) ? ledger : null;
+        });
+    }
+
+    private UserLedger ledgerFor(Long userId) {
+        UserLedger cached = ledgers.getIfPresent(userId);
+        if (cached != null) {
+            return cached;
+        }
+        long startedAt = clock.get();
+        UserLedger ledger = new UserLedger();
+        jdbcTemplate.query(LOAD_SQL, rs -> {
+            ledger.append((int) rs.getDate(1).toLocalDate().toEpochDay(), rs.getInt(2), toMinor(rs.getBigDecimal(3)));
+        }, userId);
+        ledger.markLoaded(clock.incrementAndGet());
+
+        // Instalat doar dacă nicio scriere nu s-a terminat cât a rulat SELECT-ul (altfel e folosit doar pentru acest apel)
+        UserLedger installed = ledgers.asMap().compute(userId, (id, existing) -> {
+            if (existing != null) {
+                return existing;
+            }
+            Long last = lastWrite.getIfPresent(id);
+            return last != null && last > startedAt ? null : ledger;
+        });
+        return installed != null ? installed : ledger;
+    }
+
+    /** Ca valoarea stocată în coloana DECIMAL(19,2) */
+    private static long toMinor(BigDecimal amount) {
+        return Money.toMinorRounded(amount);
+    }
+
+    private static BigDecimal toAmount(long minor) {
+        return Money.toBigDecimal(minor);
+    }
+}
@@ -0,0 +1,106 @@
+package com.budget.backend.service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Sumă cu virgulă fixă: un long de bani (subunități, scale 2 = Transaction.amount, precision 19, scale 2).
+ *
+ * Pentru agregările din Java: adunările nu alocă (Math.addExact, deci depășirea aruncă ArithmeticException),
+ * iar înmulțirea cu un curs dă exact rezultatul lui amount.multiply(rate).setScale(2, HALF_UP).
+ * Conversia din/în BigDecimal se face la granița API-ului și e exactă (of respinge mai mult de 2 zecimale).
+ * Metodele statice pe long sunt pentru buclele care țin sumele în array-uri de primitive (UserLedger).
+ */
+public record Money(long minor) implements Comparable<Money> {
+
+    public static final int SCALE = 2;
+    public static final Money ZERO = new Money(0);
+
+    private static final long[] POWERS_OF_TEN = {
+            1L, 10L, 100L, 1_000L, 10_000L, 100_000L, 1_000_000L, 10_000_000L, 100_000_000L, 1_000_000_000L,
+            10_000_000_000L, 100_000_000_000L, 1_000_000_000_000L, 10_000_000_000_000L, 100_000_000_000_000L,
+            1_000_000_000_000_000L, 10_000_000_000_000_000L, 100_000_000_000_000_000L, 1_000_000_000_000_000_000L
+    };
+
+    /** Exact: ArithmeticException dacă suma are mai mult de 2 zecimale sau nu încape în long */
+    public static Money of(BigDecimal amount) {
+        return new Money(toMinor(amount));
+    }
+
+    public static long toMinor(BigDecimal amount) {
+        return amount.setScale(SCALE, RoundingMode.UNNECESSARY).unscaledValue().longValueExact();
+    }
+
+    /** Rotunjit HALF_UP, cum stochează MySQL o valoare cu mai multe zecimale într-o coloană DECIMAL(19,2) */
+    public static long toMinorRounded(BigDecimal amount) {
+        return amount.setScale(SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    public static BigDecimal toBigDecimal(long minor) {
+        return BigDecimal.valueOf(minor, SCALE);
+    }
+
+    /** round_half_up(minor * rate) în bani; rezultatul e identic cu varianta BigDecimal, dar fără alocări pe calea rapidă */
+    public static long multiplyByRate(long minor, BigDecimal rate) {
+        int scale = rate.scale();
+        if (scale >= 0 && scale < POWERS_OF_TEN.length && rate.precision() <= 18) {
+            long unscaled = rate.unscaledValue().longValue();
+            long product;
+            try {
+                product = Math.multiplyExact(minor, unscaled);
+            } catch (ArithmeticException overflow) {
+                return multiplyByRateExact(minor, rate);
+            }
+            long divisor = POWERS_OF_TEN[scale];
+            long quotient = product / divisor;
+            long remainder = Math.abs(product % divisor);
+            // HALF_UP: jumătatea se rotunjește departe de zero; remainder < divisor <= 10^18, deci 2 * remainder nu depășește long
+            if (remainder * 2 >= divisor) {
+                quotient += Long.signum(product);
+            }
+            return quotient;
+        }
+        return multiplyByRateExact(minor, rate);
+    }
+
+    private static long multiplyByRateExact(long minor, BigDecimal rate) {
+        return BigDecimal.valueOf(minor, SCALE).multiply(rate)
+                .setScale(SCALE, RoundingMode.HALF_UP)
+                .unscaledValue()
+                .longValueExact();
+    }
+
+    public BigDecimal toBigDecimal() {
+        return toBigDecimal(minor);
+    }
+
+    public Money plus(Money other) {
+        return new Money(Math.addExact(minor, other.minor));
+    }
+
+    public Money minus(Money other) {
+        return new Money(Math.subtractExact(minor, other.minor));
+    }
+
+    public Money negate() {
+        return new Money(Math.negateExact(minor));
+    }
+
+    public Money multiplyByRate(BigDecimal rate) {
+        return new Money(multiplyByRate(minor, rate));
+    }
+
+    public int signum() {
+        return Long.signum(minor);
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        return Long.compare(minor, other.minor);
+    }
+
+    @Override
+    public String toString() {
+        return toBigDecimal().toPlainString();
+    }
+}
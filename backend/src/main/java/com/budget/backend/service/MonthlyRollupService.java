@@ -0,0 +1,96 @@
+package com.budget.backend.service;
+
+import com.budget.backend.entity.Transaction;
+import com.budget.backend.repository.MonthlyCategoryTotalRepository;
+import com.budget.backend.repository.TransactionRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Întreține tabela monthly_category_totals (și LedgerCache, dacă e activ) la fiecare scriere de tranzacție.
+ * Metodele trebuie apelate din tranzacția care scrie rândul, ca rollup-ul să rămână consistent cu tabela transactions.
+ */
+@Service
+public class MonthlyRollupService {
+
+    private record MonthCategory(LocalDate monthStart, Long categoryId) {
+    }
+
+    private final MonthlyCategoryTotalRepository monthlyCategoryTotalRepository;
+    private final TransactionRepository transactionRepository;
+    private final LedgerCache ledgerCache;
+
+    public MonthlyRollupService(MonthlyCategoryTotalRepository monthlyCategoryTotalRepository,
+                                TransactionRepository transactionRepository,
+                                LedgerCache ledgerCache) {
+        this.monthlyCategoryTotalRepository = monthlyCategoryTotalRepository;
+        this.transactionRepository = transactionRepository;
+        this.ledgerCache = ledgerCache;
+    }
+
+    @PostConstruct
+    public void initializeRollup() {
+        // Tabela e nouă și goală, dar există deja tranzacții -> o populăm o singură dată din rândurile brute
+        if (monthlyCategoryTotalRepository.count() == 0 && transactionRepository.count() > 0) {
+            try {
+                monthlyCategoryTotalRepository.rebuildAll();
+            } catch (DataIntegrityViolationException e) {
+                // Altă instanță pornită în același timp a populat tabela prima; cheia primară a respins a doua inserare
+            }
+        }
+    }
+
+    public void add(Long userId, Transaction transaction) {
+        monthlyCategoryTotalRepository.addDelta(userId, monthStart(transaction.getDate()),
+                transaction.getCategory().getId(), effectiveAmount(transaction), 1);
+        ledgerCache.recordAdd(userId, transaction.getDate(), transaction.getCategory().getId(), effectiveAmount(transaction));
+    }
+
+    public void remove(Long userId, LocalDate date, Long categoryId, BigDecimal effectiveAmount) {
+        monthlyCategoryTotalRepository.addDelta(userId, monthStart(date), categoryId, effectiveAmount.negate(), -1);
+        ledgerCache.recordRemove(userId, date, categoryId, effectiveAmount);
+    }
+
+    /** Pentru importul în masă: un singur UPSERT per (lună, categorie), nu per tranzacție. */
+    public void addAll(Long userId, Collection<Transaction> transactions) {
+        // {total în bani, număr} per cheie: adunări pe long în loc de un BigDecimal nou la fiecare rând
+        Map<MonthCategory, long[]> totals = new HashMap<>();
+        for (Transaction transaction : transactions) {
+            MonthCategory key = new MonthCategory(monthStart(transaction.getDate()), transaction.getCategory().getId());
+            long[] total = totals.computeIfAbsent(key, k -> new long[2]);
+            total[0] = Math.addExact(total[0], Money.toMinorRounded(effectiveAmount(transaction)));
+            total[1]++;
+        }
+        totals.forEach((key, total) -> monthlyCategoryTotalRepository.addDelta(
+                userId, key.monthStart(), key.categoryId(), Money.toBigDecimal(total[0]), total[1]));
+        // Inserările una câte una în ledger ar costa O(n) fiecare; se reîncarcă la următorul acces
+        ledgerCache.invalidate(userId);
+    }
+
+    /**
+     * Suma unei tranzacții s-a schimbat pe loc (conversia în moneda de bază a fost completată): doar totalul se mută,
+     * numărul de tranzacții rămâne.
+     */
+    public void adjust(Long userId, LocalDate date, Long categoryId, BigDecimal delta) {
+        if (delta.signum() != 0) {
+            monthlyCategoryTotalRepository.addDelta(userId, monthStart(date), categoryId, delta, 0);
+            ledgerCache.recordAdjust(userId, date, categoryId, delta);
+        }
+    }
+
+    /** Aceeași regulă ca în agregările din TransactionRepository: fără conversie, se folosește amount. */
+    public static BigDecimal effectiveAmount(Transaction transaction) {
+        return transaction.effectiveAmountInBase();
+    }
+
+    public static LocalDate monthStart(LocalDate date) {
+        return date.withDayOfMonth(1);
+    }
+}
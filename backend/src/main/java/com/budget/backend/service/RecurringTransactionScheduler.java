@@ -0,0 +1,254 @@
+package com.budget.backend.service;
+
+import com.budget.backend.client.RateQuote;
+import com.budget.backend.entity.Category;
+import com.budget.backend.entity.ConversionStatus;
+import com.budget.backend.entity.RecurrenceFrequency;
+import com.budget.backend.entity.RecurringTransaction;
+import com.budget.backend.entity.Transaction;
+import com.budget.backend.entity.User;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Generează tranzacțiile scadente din șabloanele recurente, pentru toți utilizatorii.
+ *
+ * Șabloanele scadente (next_run_date <= azi) se citesc în loturi keyset pe (next_run_date, id), iar fiecare lot:
+ * - își calculează aparițiile scadente (cel mult max-occurrences-per-run per șablon și lot; un șablon rămas
+ *   în urmă reapare mai târziu în aceeași trecere, pentru că next_run_date avansează după cursor);
+ * - cere cursul o singură dată per (monedă, monedă de bază, dată) pentru toată trecerea, în afara tranzacției DB;
+ * - într-o singură tranzacție: blochează șabloanele (SELECT ... FOR UPDATE), le sare pe cele a căror versiune
+ *   s-a schimbat între timp, inserează tranzacțiile în batch JDBC, actualizează rollup-ul (un UPSERT per
+ *   utilizator, lună, categorie) și avansează șabloanele (batch UPDATE, version + 1).
+ * Tranzacțiile și avansarea șablonului se scriu atomic, deci o repornire nu dublează și nu pierde apariții, iar
+ * când rulează mai multe instanțe, a doua găsește versiunea schimbată și nu mai generează nimic pentru acel șablon.
+ * Fără curs disponibil (sau cu currency.conversion.deferred=true) tranzacția intră PENDING și o completează
+ * ConversionReconciliationService.
+ */
+@Service
+public class RecurringTransactionScheduler {
+
+    private static final String DUE_SELECT = "SELECT r.id, r.version, r.user_id, r.category_id, r.description, r.amount, "
+            + "r.currency, r.frequency, r.interval_count, r.start_date, r.end_date, r.occurrence_count, "
+            + "r.next_run_date, u.base_currency "
+            + "FROM " + RecurringTransaction.TABLE + " r JOIN users u ON u.id = r.user_id "
+            + "WHERE r.next_run_date <= ? ";
+
+    private static final String DUE_FIRST_SQL = DUE_SELECT + "ORDER BY r.next_run_date, r.id LIMIT ?";
+
+    private static final String DUE_AFTER_SQL = DUE_SELECT
+            + "AND (r.next_run_date > ? OR (r.next_run_date = ? AND r.id > ?)) "
+            + "ORDER BY r.next_run_date, r.id LIMIT ?";
+
+    private static final String LOCK_SQL = "SELECT id, version FROM " + RecurringTransaction.TABLE
+            + " WHERE id IN (:ids) FOR UPDATE";
+
+    private static final String ADVANCE_SQL = "UPDATE " + RecurringTransaction.TABLE
+            + " SET occurrence_count = ?, last_run_date = ?, next_run_date = ?, version = version + 1"
+            + " WHERE id = ? AND version = ?";
+
+    /** Un șablon scadent, citit cu JDBC (fără entități gestionate în afara tranzacției). */
+    private record DueTemplate(RecurringTransaction template, String baseCurrency) {
+    }
+
+    /** Aparițiile de generat pentru un șablon și starea lui după ele. */
+    private record Plan(DueTemplate due, List<LocalDate> dates, int occurrenceCount, LocalDate nextRunDate) {
+    }
+
+    private record RateKey(String currency, String baseCurrency, LocalDate date) {
+    }
+
+    private final CurrencyConversionService currencyConversionService;
+    private final MonthlyRollupService monthlyRollupService;
+    private final EntityManager entityManager;
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int maxOccurrencesPerRun;
+    private final boolean deferredConversion;
+
+    public RecurringTransactionScheduler(CurrencyConversionService currencyConversionService,
+                                         MonthlyRollupService monthlyRollupService,
+                                         EntityManager entityManager,
+                                         JdbcTemplate jdbcTemplate,
+                                         PlatformTransactionManager transactionManager,
+                                         @Value("${recurring.batch-size:500}") int batchSize,
+                                         @Value("${recurring.max-occurrences-per-run:366}") int maxOccurrencesPerRun,
+                                         @Value("${currency.conversion.deferred:false}") boolean deferredConversion) {
+        this.currencyConversionService = currencyConversionService;
+        this.monthlyRollupService = monthlyRollupService;
+        this.entityManager = entityManager;
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.maxOccurrencesPerRun = maxOccurrencesPerRun;
+        this.deferredConversion = deferredConversion;
+    }
+
+    @Scheduled(fixedDelayString = "${recurring.worker-delay:PT5M}",
+            initialDelayString = "${recurring.worker-delay:PT5M}")
+    public void materializeScheduled() {
+        materializeDue(LocalDate.now());
+    }
+
+    /**
+     * O trecere prin toate șabloanele scadente până la today (inclusiv); întoarce câte tranzacții au fost create.
+     */
+    public synchronized int materializeDue(LocalDate today) {
+        Map<RateKey, Optional<RateQuote>> rates = new HashMap<>();
+        RecurringTransaction last = null;
+        int created = 0;
+        while (true) {
+            List<DueTemplate> batch = last == null
+                    ? jdbcTemplate.query(DUE_FIRST_SQL, this::mapDue, Date.valueOf(today), batchSize)
+                    : jdbcTemplate.query(DUE_AFTER_SQL, this::mapDue, Date.valueOf(today),
+                    Date.valueOf(last.getNextRunDate()), Date.valueOf(last.getNextRunDate()), last.getId(), batchSize);
+            if (batch.isEmpty()) {
+                return created;
+            }
+            last = batch.get(batch.size() - 1).template();
+
+            List<Plan> plans = batch.stream().map(due -> plan(due, today)).toList();
+            prefetchRates(plans, rates);
+            created += materialize(plans, rates);
+        }
+    }
+
+    private DueTemplate mapDue(ResultSet rs, int rowNum) throws SQLException {
+        RecurringTransaction t = new RecurringTransaction();
+        t.setId(rs.getLong(1));
+        t.setVersion(rs.getLong(2));
+        t.setUserId(rs.getLong(3));
+        t.setCategoryId(rs.getLong(4));
+        t.setDescription(rs.getString(5));
+        t.setAmount(rs.getBigDecimal(6));
+        t.setCurrency(rs.getString(7));
+        t.setFrequency(RecurrenceFrequency.valueOf(rs.getString(8)));
+        t.setIntervalCount(rs.getInt(9));
+        t.setStartDate(rs.getDate(10).toLocalDate());
+        t.setEndDate(rs.getDate(11) != null ? rs.getDate(11).toLocalDate() : null);
+        t.setOccurrenceCount(rs.getInt(12));
+        t.setNextRunDate(rs.getDate(13).toLocalDate());
+        String base = rs.getString(14);
+        return new DueTemplate(t, (base != null && !base.isBlank()) ? base.trim().toUpperCase(Locale.ROOT) : "RON");
+    }
+
+    private Plan plan(DueTemplate due, LocalDate today) {
+        RecurringTransaction t = due.template();
+        List<LocalDate> dates = new ArrayList<>();
+        int occurrence = t.getOccurrenceCount();
+        LocalDate next = t.getNextRunDate();
+        while (next != null && !next.isAfter(today) && dates.size() < maxOccurrencesPerRun) {
+            dates.add(next);
+            next = t.occurrenceDateWithinEnd(++occurrence);
+        }
+        return new Plan(due, dates, occurrence, next);
+    }
+
+    private void prefetchRates(List<Plan> plans, Map<RateKey, Optional<RateQuote>> rates) {
+        for (Plan plan : plans) {
+            String currency = plan.due().template().getCurrency().toUpperCase(Locale.ROOT);
+            String base = plan.due().baseCurrency();
+            if (deferredConversion && !currency.equals(base)) {
+                continue;
+            }
+            for (LocalDate date : plan.dates()) {
+                rates.computeIfAbsent(new RateKey(currency, base, date), k -> {
+                    try {
+                        return currencyConversionService.getRateQuote(k.currency(), k.baseCurrency(), k.date());
+                    } catch (RuntimeException e) {
+                        return Optional.empty();
+                    }
+                });
+            }
+        }
+    }
+
+    private int materialize(List<Plan> plans, Map<RateKey, Optional<RateQuote>> rates) {
+        Integer created = transactionTemplate.execute(status -> {
+            Map<Long, Long> lockedVersions = new HashMap<>();
+            namedJdbcTemplate.query(LOCK_SQL,
+                    Map.of("ids", plans.stream().map(p -> p.due().template().getId()).toList()),
+                    rs -> {
+                        lockedVersions.put(rs.getLong(1), rs.getLong(2));
+                    });
+
+            entityManager.unwrap(Session.class).setJdbcBatchSize(TransactionImportService.BATCH_SIZE);
+            Map<Long, List<Transaction>> insertedByUser = new LinkedHashMap<>();
+            List<Object[]> advances = new ArrayList<>(plans.size());
+            for (Plan plan : plans) {
+                RecurringTransaction t = plan.due().template();
+                // Șters sau deja procesat de altă instanță / editat de utilizator de la citire
+                if (!Long.valueOf(t.getVersion()).equals(lockedVersions.get(t.getId()))) {
+                    continue;
+                }
+                List<Transaction> inserted = insertedByUser.computeIfAbsent(t.getUserId(), k -> new ArrayList<>());
+                for (LocalDate date : plan.dates()) {
+                    inserted.add(persist(plan.due(), date, rates));
+                }
+                LocalDate lastRun = plan.dates().isEmpty() ? null : plan.dates().get(plan.dates().size() - 1);
+                advances.add(new Object[]{plan.occurrenceCount(), lastRun != null ? Date.valueOf(lastRun) : null,
+                        plan.nextRunDate() != null ? Date.valueOf(plan.nextRunDate()) : null,
+                        t.getId(), t.getVersion()});
+            }
+            entityManager.flush();
+            int count = 0;
+            for (Map.Entry<Long, List<Transaction>> entry : insertedByUser.entrySet()) {
+                if (!entry.getValue().isEmpty()) {
+                    monthlyRollupService.addAll(entry.getKey(), entry.getValue());
+                    count += entry.getValue().size();
+                }
+            }
+            if (!advances.isEmpty()) {
+                jdbcTemplate.batchUpdate(ADVANCE_SQL, advances);
+            }
+            entityManager.clear();
+            return count;
+        });
+        return created != null ? created : 0;
+    }
+
+    private Transaction persist(DueTemplate due, LocalDate date, Map<RateKey, Optional<RateQuote>> rates) {
+        RecurringTransaction t = due.template();
+        String currency = t.getCurrency().toUpperCase(Locale.ROOT);
+        Transaction transaction = new Transaction();
+        transaction.setDescription(t.getDescription());
+        transaction.setAmount(t.getAmount());
+        transaction.setCurrency(currency);
+        transaction.setDate(date);
+        transaction.setUser(entityManager.getReference(User.class, t.getUserId()));
+        transaction.setCategory(entityManager.getReference(Category.class, t.getCategoryId()));
+        Optional<RateQuote> quote = rates.getOrDefault(new RateKey(currency, due.baseCurrency(), date), Optional.empty());
+        if (quote.isPresent()) {
+            transaction.setAmountInBaseCurrency(currencyConversionService.applyRate(t.getAmount(), quote.get().rate()));
+            transaction.setConversionStatus(quote.get().provisional() ? ConversionStatus.PROVISIONAL : ConversionStatus.FINAL);
+        } else {
+            transaction.setAmountInBaseCurrency(BigDecimal.ZERO);
+            transaction.setConversionStatus(ConversionStatus.PENDING);
+        }
+        entityManager.persist(transaction);
+        return transaction;
+    }
+}
@@ -0,0 +1,110 @@
+package com.budget.backend.service;
+
+import com.budget.backend.dto.request.RecurringTransactionRequestDTO;
+import com.budget.backend.dto.response.RecurringTransactionResponseDTO;
+import com.budget.backend.entity.Category;
+import com.budget.backend.entity.RecurringTransaction;
+import com.budget.backend.repository.RecurringTransactionRepository;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Șabloanele de tranzacții recurente ale unui utilizator; tranzacțiile propriu-zise le generează
+ * RecurringTransactionScheduler.
+ */
+@Service
+public class RecurringTransactionService {
+
+    private final RecurringTransactionRepository recurringTransactionRepository;
+    private final CategoryRegistry categoryRegistry;
+
+    public RecurringTransactionService(RecurringTransactionRepository recurringTransactionRepository,
+                                       CategoryRegistry categoryRegistry) {
+        this.recurringTransactionRepository = recurringTransactionRepository;
+        this.categoryRegistry = categoryRegistry;
+    }
+
+    public List<RecurringTransactionResponseDTO> getAll(Long userId) {
+        return recurringTransactionRepository.findByUserIdOrderByIdAsc(userId).stream()
+                .map(this::toDTO)
+                .toList();
+    }
+
+    @Transactional
+    public RecurringTransactionResponseDTO create(Long userId, RecurringTransactionRequestDTO request) {
+        RecurringTransaction template = new RecurringTransaction();
+        template.setUserId(userId);
+        apply(template, request);
+        template.setOccurrenceCount(0);
+        template.setNextRunDate(template.occurrenceDateWithinEnd(0));
+        return toDTO(recurringTransactionRepository.save(template));
+    }
+
+    /**
+     * Noua regulă se aplică doar aparițiilor de după ultima generată: tranzacțiile deja create rămân neschimbate.
+     * Dacă scheduler-ul procesează șablonul în același timp, versiunea (@Version) face ca unul din cei doi să eșueze.
+     */
+    @Transactional
+    public RecurringTransactionResponseDTO update(Long userId, Long id, RecurringTransactionRequestDTO request) {
+        RecurringTransaction template = recurringTransactionRepository.findByIdAndUserId(id, userId)
+                .orElseThrow(() -> new RuntimeException("Recurring transaction not found"));
+        apply(template, request);
+
+        LocalDate lastRun = template.getLastRunDate();
+        int occurrence = 0;
+        LocalDate next = template.occurrenceDateWithinEnd(occurrence);
+        while (next != null && lastRun != null && !next.isAfter(lastRun)) {
+            next = template.occurrenceDateWithinEnd(++occurrence);
+        }
+        template.setOccurrenceCount(occurrence);
+        template.setNextRunDate(next);
+        return toDTO(recurringTransactionRepository.save(template));
+    }
+
+    @Transactional
+    public void delete(Long userId, Long id) {
+        RecurringTransaction template = recurringTransactionRepository.findByIdAndUserId(id, userId)
+                .orElseThrow(() -> new RuntimeException("Recurring transaction not found"));
+        recurringTransactionRepository.delete(template);
+    }
+
+    private void apply(RecurringTransaction template, RecurringTransactionRequestDTO request) {
+        Category category = categoryRegistry.findById(request.getCategoryId())
+                .orElseThrow(() -> new RuntimeException("Category not found"));
+        if (request.getEndDate() != null && request.getEndDate().isBefore(request.getStartDate())) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "End date must be on or after start date");
+        }
+        template.setCategoryId(category.getId());
+        template.setDescription(request.getDescription());
+        template.setAmount(request.getAmount().setScale(Money.SCALE, RoundingMode.HALF_UP));
+        template.setCurrency(request.getCurrency().trim().toUpperCase(Locale.ROOT));
+        template.setFrequency(request.getFrequency());
+        template.setIntervalCount(request.getIntervalCount() != null ? request.getIntervalCount() : 1);
+        template.setStartDate(request.getStartDate());
+        template.setEndDate(request.getEndDate());
+    }
+
+    private RecurringTransactionResponseDTO toDTO(RecurringTransaction template) {
+        return RecurringTransactionResponseDTO.builder()
+                .id(template.getId())
+                .description(template.getDescription())
+                .amount(template.getAmount())
+                .currency(template.getCurrency())
+                .categoryId(template.getCategoryId())
+                .categoryName(categoryRegistry.findById(template.getCategoryId()).map(Category::getName).orElse(null))
+                .frequency(template.getFrequency().name())
+                .intervalCount(template.getIntervalCount())
+                .startDate(template.getStartDate())
+                .endDate(template.getEndDate())
+                .lastRunDate(template.getLastRunDate())
+                .nextRunDate(template.getNextRunDate())
+                .build();
+    }
+}
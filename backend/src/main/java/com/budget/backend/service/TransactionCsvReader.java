@@ -0,0 +1,95 @@
+package com.budget.backend.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Citește extrase CSV: date,description,amount,currency,category (category = id sau nume).
+ * Header-ul e opțional; dacă există, coloanele pot fi în orice ordine. Câmpurile pot fi între ghilimele ("" = ghilimea).
+ */
+class TransactionCsvReader {
+
+    static final String[] DEFAULT_COLUMNS = {"date", "description", "amount", "currency", "category"};
+
+    /** Un rând de date: numărul rândului (fără header) și valorile pe nume de coloană. */
+    record CsvRecord(int row, Map<String, String> values) {
+    }
+
+    private final BufferedReader reader;
+    private String[] columns;
+    private int row;
+
+    TransactionCsvReader(BufferedReader reader) {
+        this.reader = reader;
+    }
+
+    /** Următorul rând de date sau null la final; rândurile goale sunt ignorate. */
+    CsvRecord next() throws IOException {
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (line.isBlank()) {
+                continue;
+            }
+            List<String> fields = parseLine(line);
+            if (columns == null) {
+                columns = headerOrNull(fields);
+                if (columns != null) {
+                    continue;
+                }
+                columns = DEFAULT_COLUMNS;
+            }
+            Map<String, String> values = new HashMap<>();
+            for (int i = 0; i < columns.length && i < fields.size(); i++) {
+                values.put(columns[i], fields.get(i).trim());
+            }
+            return new CsvRecord(++row, values);
+        }
+        return null;
+    }
+
+    private static String[] headerOrNull(List<String> fields) {
+        boolean isHeader = fields.stream().anyMatch(f -> f.trim().equalsIgnoreCase("date"));
+        if (!isHeader) {
+            return null;
+        }
+        String[] header = new String[fields.size()];
+        for (int i = 0; i < fields.size(); i++) {
+            String name = fields.get(i).trim().toLowerCase(Locale.ROOT);
+            header[i] = name.equals("categoryid") ? "category" : name;
+        }
+        return header;
+    }
+
+    static List<String> parseLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        fields.add(current.toString());
+        return fields;
+    }
+}
@@ -0,0 +1,129 @@
+package com.budget.backend.service;
+
+import com.budget.backend.dto.response.TransactionResponseDTO;
+import com.budget.backend.repository.TransactionRepository;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.stream.Stream;
+
+/**
+ * Export complet al tranzacțiilor, scris rând cu rând direct în răspuns: memoria folosită nu depinde
+ * de numărul de tranzacții. CSV-ul are aceleași coloane pe care le acceptă importul.
+ */
+@Service
+public class TransactionExportService {
+
+    /** Cât de des împingem datele către client (rânduri) */
+    private static final int FLUSH_EVERY = 1000;
+
+    private static final String CSV_HEADER = "id,date,description,amount,currency,category,categoryType,amountInBaseCurrency";
+
+    public enum ExportFormat {
+        CSV("text/csv", "csv"),
+        NDJSON("application/x-ndjson", "ndjson");
+
+        private final MediaType mediaType;
+        private final String extension;
+
+        ExportFormat(String mediaType, String extension) {
+            this.mediaType = MediaType.parseMediaType(mediaType);
+            this.extension = extension;
+        }
+
+        public MediaType getMediaType() {
+            return mediaType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+
+        public static ExportFormat parse(String value) {
+            try {
+                return valueOf(value.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unsupported export format: " + value);
+            }
+        }
+    }
+
+    private final TransactionRepository transactionRepository;
+    private final JsonMapper jsonMapper;
+
+    public TransactionExportService(TransactionRepository transactionRepository, JsonMapper jsonMapper) {
+        this.transactionRepository = transactionRepository;
+        this.jsonMapper = jsonMapper;
+    }
+
+    /**
+     * Tranzacția (read-only) ține deschis cursorul JDBC cât timp scriem; nu se creează entități gestionate,
+     * deci contextul de persistență nu crește pe parcursul exportului.
+     */
+    @Transactional(readOnly = true)
+    public void export(Long userId, ExportFormat format, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        if (format == ExportFormat.CSV) {
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+        }
+        try (Stream<TransactionResponseDTO> rows = transactionRepository.streamDtosByUserId(userId)) {
+            Iterator<TransactionResponseDTO> it = rows.iterator();
+            int written = 0;
+            while (it.hasNext()) {
+                TransactionResponseDTO row = it.next();
+                if (format == ExportFormat.CSV) {
+                    writeCsv(writer, row);
+                } else {
+                    writer.write(jsonMapper.writeValueAsString(row));
+                    writer.write('\n');
+                }
+                if (++written % FLUSH_EVERY == 0) {
+                    writer.flush();
+                }
+            }
+        }
+        writer.flush();
+    }
+
+    private static void writeCsv(Writer writer, TransactionResponseDTO row) throws IOException {
+        writer.write(String.valueOf(row.getId()));
+        writer.write(',');
+        writer.write(String.valueOf(row.getDate()));
+        writer.write(',');
+        writer.write(csvField(row.getDescription()));
+        writer.write(',');
+        writer.write(row.getAmount().toPlainString());
+        writer.write(',');
+        writer.write(csvField(row.getCurrency()));
+        writer.write(',');
+        writer.write(csvField(row.getCategoryName()));
+        writer.write(',');
+        writer.write(csvField(row.getCategoryType()));
+        writer.write(',');
+        writer.write(row.getAmountInBaseCurrency() != null ? row.getAmountInBaseCurrency().toPlainString() : "");
+        writer.write('\n');
+    }
+
+    private static String csvField(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
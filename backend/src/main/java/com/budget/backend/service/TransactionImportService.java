@@ -0,0 +1,289 @@
+package com.budget.backend.service;
+
+import com.budget.backend.client.RateQuote;
+import com.budget.backend.dto.request.CreateTransactionDTO;
+import com.budget.backend.dto.response.ImportResultDTO;
+import com.budget.backend.dto.response.ImportRowErrorDTO;
+import com.budget.backend.entity.Category;
+import com.budget.backend.entity.ConversionStatus;
+import com.budget.backend.entity.Transaction;
+import com.budget.backend.entity.User;
+import com.budget.backend.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Import în masă (extrase bancare, JSON sau CSV).
+ *
+ * Spre deosebire de createTransaction (câte un rând cu toate lookup-urile), aici:
+ * - categoriile vin din CategoryRegistry (în memorie);
+ * - cursul se cere o singură dată per (monedă, dată) distinctă;
+ * - INSERT-urile se trimit în batch JDBC, în tranzacții de câte BATCH_SIZE rânduri.
+ * Rândurile invalide sunt raportate în rezultat și nu opresc importul celorlalte.
+ * Cu currency.conversion.deferred=true rândurile în altă monedă intră PENDING, fără niciun apel de curs.
+ */
+@Service
+public class TransactionImportService {
+    public static final int MAX_IMPORT_ROWS = 100_000;
+    static final int BATCH_SIZE = 500;
+
+    private final UserRepository userRepository;
+    private final CategoryRegistry categoryRegistry;
+    private final CurrencyConversionService currencyConversionService;
+    private final Validator validator;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final MonthlyRollupService monthlyRollupService;
+    private final boolean deferredConversion;
+
+    public TransactionImportService(UserRepository userRepository,
+                                    CategoryRegistry categoryRegistry,
+                                    CurrencyConversionService currencyConversionService,
+                                    Validator validator,
+                                    EntityManager entityManager,
+                                    PlatformTransactionManager transactionManager,
+                                    MonthlyRollupService monthlyRollupService,
+                                    @Value("${currency.conversion.deferred:false}") boolean deferredConversion) {
+        this.userRepository = userRepository;
+        this.categoryRegistry = categoryRegistry;
+        this.currencyConversionService = currencyConversionService;
+        this.validator = validator;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.monthlyRollupService = monthlyRollupService;
+        this.deferredConversion = deferredConversion;
+    }
+
+    /** Un rând gata de validat: poziția lui în input și datele. */
+    private record PendingRow(int row, CreateTransactionDTO request) {
+    }
+
+    /** Un rând validat, cu suma deja convertită în moneda de bază. */
+    private record PreparedRow(int row, CreateTransactionDTO request, String currency, BigDecimal amountInBase,
+                               ConversionStatus conversionStatus) {
+    }
+
+    private record RateKey(String currency, LocalDate date) {
+    }
+
+    public ImportResultDTO importTransactions(Long userId, List<CreateTransactionDTO> requests) {
+        if (requests.size() > MAX_IMPORT_ROWS) {
+            throw tooManyRows();
+        }
+        List<PendingRow> rows = new ArrayList<>(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            rows.add(new PendingRow(i + 1, requests.get(i)));
+        }
+        return importRows(userId, rows, new ArrayList<>(), requests.size(), categoryRegistry.getAll());
+    }
+
+    public ImportResultDTO importCsv(Long userId, InputStream csv) {
+        List<Category> categories = categoryRegistry.getAll();
+        Map<String, Category> categoriesByName = categories.stream()
+                .collect(Collectors.toMap(c -> c.getName().toLowerCase(Locale.ROOT), c -> c));
+
+        List<PendingRow> rows = new ArrayList<>();
+        List<ImportRowErrorDTO> errors = new ArrayList<>();
+        int totalRows = 0;
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(csv, StandardCharsets.UTF_8))) {
+            TransactionCsvReader csvReader = new TransactionCsvReader(reader);
+            TransactionCsvReader.CsvRecord record;
+            while ((record = csvReader.next()) != null) {
+                if (record.row() > MAX_IMPORT_ROWS) {
+                    throw tooManyRows();
+                }
+                totalRows = record.row();
+                try {
+                    rows.add(new PendingRow(record.row(), toRequest(record.values(), categoriesByName)));
+                } catch (IllegalArgumentException | DateTimeParseException e) {
+                    errors.add(new ImportRowErrorDTO(record.row(), e.getMessage()));
+                }
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to read CSV: " + e.getMessage(), e);
+        }
+        return importRows(userId, rows, errors, totalRows, categories);
+    }
+
+    private ImportResultDTO importRows(Long userId, List<PendingRow> rows, List<ImportRowErrorDTO> errors,
+                                       int totalRows, List<Category> categories) {
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+        String base = (user.getBaseCurrency() != null && !user.getBaseCurrency().isBlank())
+                ? user.getBaseCurrency().trim().toUpperCase()
+                : "RON";
+        Set<Long> categoryIds = categories.stream()
+                .map(Category::getId)
+                .collect(Collectors.toSet());
+
+        List<PendingRow> valid = new ArrayList<>(rows.size());
+        for (PendingRow row : rows) {
+            String problem = validate(row.request(), categoryIds);
+            if (problem != null) {
+                errors.add(new ImportRowErrorDTO(row.row(), problem));
+            } else {
+                valid.add(row);
+            }
+        }
+
+        List<PendingRow> toConvert = deferredConversion
+                ? valid.stream().filter(r -> r.request().getCurrency().equalsIgnoreCase(base)).toList()
+                : valid;
+        Map<RateKey, Optional<RateQuote>> rates = prefetchRates(toConvert, base);
+
+        List<PreparedRow> toInsert = new ArrayList<>(valid.size());
+        for (PendingRow row : valid) {
+            CreateTransactionDTO request = row.request();
+            String currency = request.getCurrency().toUpperCase();
+            if (deferredConversion && !currency.equals(base)) {
+                toInsert.add(new PreparedRow(row.row(), request, currency, BigDecimal.ZERO, ConversionStatus.PENDING));
+                continue;
+            }
+            Optional<RateQuote> rate = rates.get(new RateKey(currency, request.getDate()));
+            if (rate.isEmpty()) {
+                errors.add(new ImportRowErrorDTO(row.row(), "Exchange rate not available for " + currency + " -> " + base));
+                continue;
+            }
+            toInsert.add(new PreparedRow(row.row(), request, currency,
+                    currencyConversionService.applyRate(request.getAmount(), rate.get().rate()),
+                    rate.get().provisional() ? ConversionStatus.PROVISIONAL : ConversionStatus.FINAL));
+        }
+
+        int imported = 0;
+        for (int from = 0; from < toInsert.size(); from += BATCH_SIZE) {
+            int to = Math.min(from + BATCH_SIZE, toInsert.size());
+            List<PreparedRow> chunk = toInsert.subList(from, to);
+            try {
+                insertChunk(userId, chunk);
+                imported += chunk.size();
+            } catch (RuntimeException e) {
+                for (PreparedRow row : chunk) {
+                    errors.add(new ImportRowErrorDTO(row.row(), "Insert failed: " + e.getMessage()));
+                }
+            }
+        }
+
+        errors.sort((a, b) -> Integer.compare(a.getRow(), b.getRow()));
+        return ImportResultDTO.builder()
+                .totalRows(totalRows)
+                .imported(imported)
+                .errors(errors)
+                .build();
+    }
+
+    private void insertChunk(Long userId, List<PreparedRow> chunk) {
+        transactionTemplate.executeWithoutResult(status -> {
+            // Id-urile vin din generatorul pooled, deci Hibernate poate grupa INSERT-urile în batch
+            entityManager.unwrap(Session.class).setJdbcBatchSize(BATCH_SIZE);
+            User userRef = entityManager.getReference(User.class, userId);
+            List<Transaction> inserted = new ArrayList<>(chunk.size());
+            for (PreparedRow row : chunk) {
+                CreateTransactionDTO request = row.request();
+                Transaction transaction = new Transaction();
+                transaction.setDescription(request.getDescription());
+                transaction.setAmount(request.getAmount());
+                transaction.setCurrency(row.currency());
+                transaction.setDate(request.getDate());
+                transaction.setAmountInBaseCurrency(row.amountInBase());
+                transaction.setConversionStatus(row.conversionStatus());
+                transaction.setUser(userRef);
+                transaction.setCategory(entityManager.getReference(Category.class, request.getCategoryId()));
+                entityManager.persist(transaction);
+                inserted.add(transaction);
+            }
+            entityManager.flush();
+            monthlyRollupService.addAll(userId, inserted);
+            entityManager.clear();
+        });
+    }
+
+    /** Un singur lookup de curs per (monedă, dată); CachingExchangeRateClient grupează mai departe pe dată. */
+    private Map<RateKey, Optional<RateQuote>> prefetchRates(List<PendingRow> rows, String base) {
+        Map<RateKey, Optional<RateQuote>> rates = new HashMap<>();
+        for (PendingRow row : rows) {
+            RateKey key = new RateKey(row.request().getCurrency().toUpperCase(), row.request().getDate());
+            rates.computeIfAbsent(key, k -> {
+                try {
+                    return currencyConversionService.getRateQuote(k.currency(), base, k.date());
+                } catch (RuntimeException e) {
+                    return Optional.empty();
+                }
+            });
+        }
+        return rates;
+    }
+
+    private String validate(CreateTransactionDTO request, Set<Long> categoryIds) {
+        if (request == null) {
+            return "Empty row";
+        }
+        Set<ConstraintViolation<CreateTransactionDTO>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            return violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining("; "));
+        }
+        if (!categoryIds.contains(request.getCategoryId())) {
+            return "Category not found";
+        }
+        return null;
+    }
+
+    private static CreateTransactionDTO toRequest(Map<String, String> values, Map<String, Category> categoriesByName) {
+        CreateTransactionDTO request = new CreateTransactionDTO();
+        request.setDescription(values.get("description"));
+        request.setCurrency(values.get("currency"));
+        String date = values.get("date");
+        request.setDate(date == null || date.isEmpty() ? null : LocalDate.parse(date));
+        String amount = values.get("amount");
+        try {
+            request.setAmount(amount == null || amount.isEmpty() ? null : new BigDecimal(amount));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Amount is not a number: " + amount);
+        }
+        String category = values.get("category");
+        if (category != null && !category.isEmpty()) {
+            if (category.chars().allMatch(Character::isDigit)) {
+                request.setCategoryId(Long.parseLong(category));
+            } else {
+                Category byName = categoriesByName.get(category.toLowerCase(Locale.ROOT));
+                if (byName == null) {
+                    throw new IllegalArgumentException("Category not found: " + category);
+                }
+                request.setCategoryId(byName.getId());
+            }
+        }
+        return request;
+    }
+
+    private static ResponseStatusException tooManyRows() {
+        return new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                "Import is limited to " + MAX_IMPORT_ROWS + " rows per request");
+    }
+}
@@ -0,0 +1,151 @@
+package com.budget.backend.service;
+
+import com.budget.backend.config.TransactionSearchIndexInitializer;
+import com.budget.backend.dto.request.TransactionSearchDTO;
+import com.budget.backend.dto.response.TransactionPageDTO;
+import com.budget.backend.dto.response.TransactionResponseDTO;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.sql.Date;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Căutare în descrierea tranzacțiilor, combinată cu filtre pe dată, categorie și sumă.
+ *
+ * Fiecare cuvânt căutat trebuie să fie începutul unui cuvânt din descriere ("abon" găsește "Abonament",
+ * "flix" nu găsește "Netflix"), la fel pe orice bază:
+ * - pe MySQL, cuvintele din indexul FULLTEXT se caută cu MATCH ... AGAINST în BOOLEAN MODE (+abon* +netf*),
+ *   deci nu se scanează descrierile rând cu rând;
+ * - cuvintele pe care InnoDB nu le indexează (mai scurte de innodb_ft_min_token_size, stopword-uri precum "de"),
+ *   și toate cuvintele când nu există index (H2, transactions.search.fulltext=false), se verifică cu REGEXP_LIKE
+ *   la început de cuvânt, doar pe rândurile rămase după celelalte condiții.
+ * Paginarea e keyset pe (date DESC, id DESC), cu același cursor ca /api/transactions/page.
+ */
+@Service
+public class TransactionSearchService {
+    static final int MAX_TERMS = 10;
+
+    /** Începutul unui cuvânt: ca tokenizer-ul FULLTEXT, separatorii sunt tot ce nu e literă, cifră sau _ */
+    private static final String WORD_START = "(^|[^\\p{L}\\p{N}_])";
+
+    /** Suma în moneda de bază, cu aceeași regulă ca proiecțiile din TransactionRepository (PENDING -> amount) */
+    private static final String EFFECTIVE_AMOUNT = "COALESCE(NULLIF(t.amount_in_base_currency, 0), t.amount)";
+
+    private static final String SELECT = "SELECT t.id, t.description, t.amount, t.currency, "
+            + EFFECTIVE_AMOUNT + ", t.date, c.id, c.name, c.type, t.user_id, t.conversion_status "
+            + "FROM transactions t JOIN categories c ON c.id = t.category_id "
+            + "WHERE t.user_id = :userId";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionSearchIndexInitializer searchIndex;
+
+    public TransactionSearchService(JdbcTemplate jdbcTemplate, TransactionSearchIndexInitializer searchIndex) {
+        this.jdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.searchIndex = searchIndex;
+    }
+
+    public TransactionPageDTO search(Long userId, TransactionSearchDTO filter, String cursor, Integer size) {
+        int pageSize = (size == null || size <= 0)
+                ? TransactionService.DEFAULT_PAGE_SIZE
+                : Math.min(size, TransactionService.MAX_PAGE_SIZE);
+        if (filter.getFrom() != null && filter.getTo() != null && filter.getTo().isBefore(filter.getFrom())) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "End date must be on or after start date");
+        }
+        if (filter.getMinAmount() != null && filter.getMaxAmount() != null
+                && filter.getMaxAmount().compareTo(filter.getMinAmount()) < 0) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Maximum amount must be at least the minimum amount");
+        }
+
+        StringBuilder sql = new StringBuilder(SELECT);
+        MapSqlParameterSource params = new MapSqlParameterSource("userId", userId);
+
+        List<String> terms = terms(filter.getQ());
+        boolean fullText = searchIndex.isFullTextAvailable();
+        List<String> indexed = terms.stream().filter(term -> fullText && searchIndex.isIndexed(term)).toList();
+        if (!indexed.isEmpty()) {
+            sql.append(" AND MATCH(t.description) AGAINST (:match IN BOOLEAN MODE)");
+            params.addValue("match", String.join(" ", indexed.stream().map(term -> "+" + term + "*").toList()));
+        }
+        for (int i = 0; i < terms.size(); i++) {
+            if (!indexed.contains(terms.get(i))) {
+                // Termenii au doar litere și cifre: nimic de escapat în expresie
+                sql.append(" AND REGEXP_LIKE(LOWER(t.description), :word").append(i).append(")");
+                params.addValue("word" + i, WORD_START + terms.get(i));
+            }
+        }
+        if (filter.getFrom() != null) {
+            sql.append(" AND t.date >= :from");
+            params.addValue("from", Date.valueOf(filter.getFrom()));
+        }
+        if (filter.getTo() != null) {
+            sql.append(" AND t.date <= :to");
+            params.addValue("to", Date.valueOf(filter.getTo()));
+        }
+        if (filter.getCategoryId() != null) {
+            sql.append(" AND t.category_id = :categoryId");
+            params.addValue("categoryId", filter.getCategoryId());
+        }
+        if (filter.getMinAmount() != null) {
+            sql.append(" AND ").append(EFFECTIVE_AMOUNT).append(" >= :minAmount");
+            params.addValue("minAmount", filter.getMinAmount());
+        }
+        if (filter.getMaxAmount() != null) {
+            sql.append(" AND ").append(EFFECTIVE_AMOUNT).append(" <= :maxAmount");
+            params.addValue("maxAmount", filter.getMaxAmount());
+        }
+        if (cursor != null && !cursor.isBlank()) {
+            TransactionCursor after = TransactionCursor.decode(cursor);
+            sql.append(" AND (t.date < :afterDate OR (t.date = :afterDate AND t.id < :afterId))");
+            params.addValue("afterDate", Date.valueOf(after.date()));
+            params.addValue("afterId", after.id());
+        }
+        // Un rând în plus doar ca să știm dacă mai există o pagină
+        sql.append(" ORDER BY t.date DESC, t.id DESC LIMIT :limit");
+        params.addValue("limit", pageSize + 1);
+
+        List<TransactionResponseDTO> rows = jdbcTemplate.query(sql.toString(), params, (rs, i) ->
+                new TransactionResponseDTO(rs.getLong(1), rs.getString(2), rs.getBigDecimal(3), rs.getString(4),
+                        rs.getBigDecimal(5), rs.getDate(6).toLocalDate(), rs.getLong(7), rs.getString(8),
+                        rs.getString(9), rs.getLong(10), rs.getString(11), null));
+
+        boolean hasMore = rows.size() > pageSize;
+        List<TransactionResponseDTO> page = hasMore ? rows.subList(0, pageSize) : rows;
+        String nextCursor = null;
+        if (hasMore) {
+            TransactionResponseDTO last = page.get(page.size() - 1);
+            nextCursor = new TransactionCursor(last.getDate(), last.getId()).encode();
+        }
+        return TransactionPageDTO.builder()
+                .items(new ArrayList<>(page))
+                .nextCursor(nextCursor)
+                .hasMore(hasMore)
+                .build();
+    }
+
+    /**
+     * Cuvintele căutării, doar litere și cifre: operatorii FULLTEXT (+ - * " etc.) și caracterele speciale
+     * din expresiile regulate nu pot ajunge în query.
+     */
+    static List<String> terms(String q) {
+        if (q == null || q.isBlank()) {
+            return List.of();
+        }
+        List<String> terms = Arrays.stream(q.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+"))
+                .filter(term -> !term.isEmpty())
+                .distinct()
+                .limit(MAX_TERMS)
+                .toList();
+        if (terms.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Search query must contain letters or digits");
+        }
+        return terms;
+    }
+}
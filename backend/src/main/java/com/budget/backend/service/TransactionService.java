@@ -1,28 +1,38 @@
 package com.budget.backend.service;
 
+import com.budget.backend.client.RateQuote;
 import com.budget.backend.dto.request.CreateTransactionDTO;
+import com.budget.backend.dto.response.TransactionPageDTO;
 import com.budget.backend.dto.response.TransactionResponseDTO;
 import com.budget.backend.entity.Category;
+import com.budget.backend.entity.ConversionStatus;
 import com.budget.backend.entity.Transaction;
 import com.budget.backend.entity.User;
-import com.budget.backend.repository.CategoryRepository;
 import com.budget.backend.repository.TransactionRepository;
 import com.budget.backend.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Service
 public class TransactionService {
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 200;
+
     @Autowired
     private TransactionRepository transactionRepository;
 
     @Autowired
-    private CategoryRepository categoryRepository;
+    private CategoryRegistry categoryRegistry;
 
     @Autowired
     private UserRepository userRepository;
@@ -30,116 +40,217 @@ public class TransactionService {
     @Autowired
     private CurrencyConversionService currencyConversionService;
 
+    @Autowired
+    private MonthlyRollupService monthlyRollupService;
+
+    @Autowired
+    private BudgetService budgetService;
+
+    /** true = tranzacțiile în altă monedă se salvează PENDING, fără apel de curs în request (vezi ConversionReconciliationService) */
+    @Value("${currency.conversion.deferred:false}")
+    private boolean deferredConversion;
+
+    /** Pentru create/update: tranzacția DB începe abia după ce avem cursul */
+    private TransactionTemplate transactionTemplate;
+
+    /** Suma în moneda de bază calculată înainte de tranzacția DB, pentru baseCurrency */
+    private record Conversion(String baseCurrency, BigDecimal amountInBase, ConversionStatus status) {
+    }
+
+    @Autowired
+    void setTransactionManager(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Cursul se cere înainte de tranzacție: un API de cursuri lent nu ține ocupată o conexiune din pool.
+     */
     public TransactionResponseDTO createTransaction(CreateTransactionDTO request, Long userId) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
-        Category category = categoryRepository.findById(request.getCategoryId())
+        // Validare din CategoryRegistry, fără SELECT; copia detașată e suficientă pentru cheia străină
+        Category category = categoryRegistry.findById(request.getCategoryId())
                 .orElseThrow(() -> new RuntimeException("Category not found"));
 
-        Transaction transaction = new Transaction();
-        transaction.setDescription(request.getDescription());
-        transaction.setAmount(request.getAmount());
-        transaction.setCurrency(request.getCurrency());
-        transaction.setDate(request.getDate());
-        transaction.setUser(user);
-        transaction.setCategory(category);
-        transaction.setAmountInBaseCurrency(computeAmountInBase(user, request.getAmount(), request.getCurrency(), request.getDate()));
+        Conversion conversion = convert(request, baseCurrency(user));
 
-        Transaction savedTransaction = transactionRepository.save(transaction);
+        return transactionTemplate.execute(status -> {
+            Transaction transaction = new Transaction();
+            transaction.setDescription(request.getDescription());
+            transaction.setAmount(request.getAmount());
+            transaction.setCurrency(request.getCurrency());
+            transaction.setDate(request.getDate());
+            transaction.setUser(user);
+            transaction.setCategory(category);
+            applyConversion(transaction, userRepository.findById(userId).orElse(user), conversion);
+
+            Transaction savedTransaction = transactionRepository.save(transaction);
+            monthlyRollupService.add(userId, savedTransaction);
 
-        return convertToDTO(savedTransaction);
+            TransactionResponseDTO response = convertToDTO(savedTransaction);
+            response.setBudgetAlert(budgetService.checkAfterWrite(userId, savedTransaction.getDate(), category.getId(),
+                    savedTransaction.effectiveAmountInBase()).orElse(null));
+            return response;
+        });
     }
 
+    /**
+     * userId vine din JWT, deci nu mai încărcăm User-ul: lista e un singur SELECT (proiecție DTO).
+     */
     public List<TransactionResponseDTO> getAllTransactions(Long userId) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+        return transactionRepository.findDtosByUserId(userId);
+    }
+
+    /**
+     * Listare paginată keyset pe (date DESC, id DESC): fiecare pagină e un range scan limitat
+     * pe indexul (user_id, date, id), fără OFFSET, deci costul nu crește cu adâncimea istoricului.
+     */
+    public TransactionPageDTO getTransactionsPage(Long userId, String cursor, Integer size) {
+        int pageSize = (size == null || size <= 0) ? DEFAULT_PAGE_SIZE : Math.min(size, MAX_PAGE_SIZE);
+        // Cerem un rând în plus doar ca să știm dacă mai există o pagină
+        Limit limit = Limit.of(pageSize + 1);
+
+        List<TransactionResponseDTO> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = transactionRepository.findFirstPageByUserId(userId, limit);
+        } else {
+            TransactionCursor after = TransactionCursor.decode(cursor);
+            rows = transactionRepository.findPageByUserIdAfter(userId, after.date(), after.id(), limit);
+        }
 
-        List<Transaction> transactions = transactionRepository.findByUserOrderByDateDescIdDesc(user);
+        boolean hasMore = rows.size() > pageSize;
+        List<TransactionResponseDTO> page = hasMore ? rows.subList(0, pageSize) : rows;
+        String nextCursor = null;
+        if (hasMore) {
+            TransactionResponseDTO last = page.get(page.size() - 1);
+            nextCursor = new TransactionCursor(last.getDate(), last.getId()).encode();
+        }
 
-        return transactions.stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return TransactionPageDTO.builder()
+                .items(new ArrayList<>(page))
+                .nextCursor(nextCursor)
+                .hasMore(hasMore)
+                .build();
     }
 
     public TransactionResponseDTO getTransactionById(Long transactionId, Long userId) {
-        Transaction transaction = transactionRepository.findById(transactionId)
+        return transactionRepository.findDtoByIdAndUserId(transactionId, userId)
                 .orElseThrow(() -> new RuntimeException("Transaction not found"));
+    }
 
-        if (!transaction.getUser().getId().equals(userId)) {
-            throw new RuntimeException("Transaction not found");
-        }
+    /**
+     * Ca la create, cursul se cere înainte de tranzacție; moneda de bază vine din cache-ul L2 al User-ului.
+     */
+    public TransactionResponseDTO updateTransaction(Long transactionId, CreateTransactionDTO request, Long userId) {
+        // Copia din registry și când categoria nu se schimbă: convertToDTO nu mai inițializează proxy-ul lazy
+        Category category = categoryRegistry.findById(request.getCategoryId())
+                .orElseThrow(() -> new RuntimeException("Category not found"));
+        User owner = userRepository.findById(userId)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+
+        Conversion conversion = convert(request, baseCurrency(owner));
 
-        return convertToDTO(transaction);
+        return transactionTemplate.execute(status -> update(transactionId, request, userId, category, conversion));
     }
 
-    public TransactionResponseDTO updateTransaction(Long transactionId, CreateTransactionDTO request, Long userId) {
-        Transaction transaction = transactionRepository.findById(transactionId)
+    private TransactionResponseDTO update(Long transactionId, CreateTransactionDTO request, Long userId,
+                                          Category category, Conversion conversion) {
+        // Proprietarul e verificat în SQL; User vine în același SELECT (trebuie moneda de bază)
+        Transaction transaction = transactionRepository.findWithUserByIdAndUserId(transactionId, userId)
                 .orElseThrow(() -> new RuntimeException("Transaction not found"));
 
-        if (!transaction.getUser().getId().equals(userId)) {
-            throw new RuntimeException("Transaction not found");
-        }
-
         User user = transaction.getUser();
+        LocalDate oldMonth = MonthlyRollupService.monthStart(transaction.getDate());
+        Long oldCategoryId = transaction.getCategory().getId();
+        BigDecimal oldAmount = MonthlyRollupService.effectiveAmount(transaction);
+        // Starea veche iese din rollup, cea nouă intră (data/categoria/suma se pot schimba toate)
+        monthlyRollupService.remove(userId, transaction.getDate(), oldCategoryId, oldAmount);
 
-        if (!transaction.getCategory().getId().equals(request.getCategoryId())) {
-            Category category = categoryRepository.findById(request.getCategoryId())
-                    .orElseThrow(() -> new RuntimeException("Category not found"));
-            transaction.setCategory(category);
-        }
+        transaction.setCategory(category);
 
         transaction.setDescription(request.getDescription());
         transaction.setAmount(request.getAmount());
         transaction.setCurrency(request.getCurrency());
         transaction.setDate(request.getDate());
-        transaction.setAmountInBaseCurrency(computeAmountInBase(user, request.getAmount(), request.getCurrency(), request.getDate()));
+        applyConversion(transaction, user, conversion);
 
         Transaction updatedTransaction = transactionRepository.save(transaction);
-        return convertToDTO(updatedTransaction);
+        monthlyRollupService.add(userId, updatedTransaction);
+
+        // Cât a crescut cheltuiala (lună, categorie) a tranzacției prin acest update
+        BigDecimal newAmount = updatedTransaction.effectiveAmountInBase();
+        boolean sameBucket = oldMonth.equals(MonthlyRollupService.monthStart(updatedTransaction.getDate()))
+                && oldCategoryId.equals(category.getId());
+        TransactionResponseDTO response = convertToDTO(updatedTransaction);
+        response.setBudgetAlert(budgetService.checkAfterWrite(userId, updatedTransaction.getDate(), category.getId(),
+                sameBucket ? newAmount.subtract(oldAmount) : newAmount).orElse(null));
+        return response;
     }
 
+    @Transactional
     public void deleteTransaction(Long transactionId, Long userId) {
-        Transaction transaction = transactionRepository.findById(transactionId)
+        Transaction transaction = transactionRepository.findByIdAndUserId(transactionId, userId)
                 .orElseThrow(() -> new RuntimeException("Transaction not found"));
 
-        if (!transaction.getUser().getId().equals(userId)) {
-            throw new RuntimeException("Transaction not found");
-        }
-
+        monthlyRollupService.remove(userId, transaction.getDate(), transaction.getCategory().getId(),
+                MonthlyRollupService.effectiveAmount(transaction));
         transactionRepository.delete(transaction);
     }
 
-    private BigDecimal computeAmountInBase(User user, BigDecimal amount, String transactionCurrency, LocalDate transactionDate) {
-        String base = (user.getBaseCurrency() != null && !user.getBaseCurrency().isBlank())
-                ? user.getBaseCurrency().trim().toUpperCase()
-                : "RON";
-        return currencyConversionService.convertAmount(amount, transactionCurrency, base, transactionDate);
+    /**
+     * Apelat în afara tranzacției. Dacă API-ul de cursuri e indisponibil se folosește ultimul curs cunoscut,
+     * iar tranzacția e marcată PROVISIONAL. În modul deferred conversia se lasă worker-ului:
+     * amountInBaseCurrency = 0 și status PENDING.
+     */
+    private Conversion convert(CreateTransactionDTO request, String base) {
+        String currency = request.getCurrency().toUpperCase();
+        if (deferredConversion && !currency.equals(base)) {
+            return new Conversion(base, BigDecimal.ZERO, ConversionStatus.PENDING);
+        }
+        RateQuote quote = currencyConversionService.getRateQuote(currency, base, request.getDate())
+                .orElseThrow(() -> new RuntimeException("Exchange rate not available for " + currency + " -> " + base));
+        return new Conversion(base, currencyConversionService.applyRate(request.getAmount(), quote.rate()),
+                quote.provisional() ? ConversionStatus.PROVISIONAL : ConversionStatus.FINAL);
     }
 
     /**
-     * Pentru API/DTO: dacă conversia în moneda de bază lipsește (0 sau null), expunem amount.
+     * Dacă moneda de bază s-a schimbat cât s-a cerut cursul, suma calculată e în moneda veche:
+     * rândul intră PENDING și îl convertește ConversionReconciliationService.
      */
-    private BigDecimal effectiveAmountInBaseForResponse(Transaction transaction) {
-        BigDecimal inBase = transaction.getAmountInBaseCurrency();
-        if (inBase != null && inBase.compareTo(BigDecimal.ZERO) != 0) {
-            return inBase;
+    private static void applyConversion(Transaction transaction, User user, Conversion conversion) {
+        if (conversion.baseCurrency().equals(baseCurrency(user))) {
+            transaction.setAmountInBaseCurrency(conversion.amountInBase());
+            transaction.setConversionStatus(conversion.status());
+        } else {
+            transaction.setAmountInBaseCurrency(BigDecimal.ZERO);
+            transaction.setConversionStatus(ConversionStatus.PENDING);
         }
-        return transaction.getAmount();
     }
 
-    private TransactionResponseDTO convertToDTO(Transaction transaction) {
+    private static String baseCurrency(User user) {
+        return (user.getBaseCurrency() != null && !user.getBaseCurrency().isBlank())
+                ? user.getBaseCurrency().trim().toUpperCase()
+                : "RON";
+    }
+
+    /**
+     * Mapare entitate -> DTO pentru răspunsurile la scriere (create/update); public pentru benchmark-uri.
+     */
+    public TransactionResponseDTO convertToDTO(Transaction transaction) {
         TransactionResponseDTO dto = new TransactionResponseDTO();
         dto.setId(transaction.getId());
         dto.setDescription(transaction.getDescription());
         dto.setAmount(transaction.getAmount());
         dto.setCurrency(transaction.getCurrency());
-        dto.setAmountInBaseCurrency(effectiveAmountInBaseForResponse(transaction));
+        // Dacă conversia lipsește încă (PENDING), expunem amount, ca proiecțiile din TransactionRepository
+        dto.setAmountInBaseCurrency(transaction.effectiveAmountInBase());
         dto.setDate(transaction.getDate());
         dto.setCategoryId(transaction.getCategory().getId());
         dto.setCategoryName(transaction.getCategory().getName());
         dto.setCategoryType(transaction.getCategory().getType().name());
         dto.setUserId(transaction.getUser().getId());
+        dto.setConversionStatus(transaction.getConversionStatus() != null ? transaction.getConversionStatus().name() : null);
         return dto;
     }
 }
@@ -0,0 +1,162 @@
+package com.budget.backend.service;
+
+import java.util.Arrays;
+
+/**
+ * Tranzacțiile unui utilizator reduse la ce trebuie agregărilor, ca 3 coloane de primitive sortate după zi:
+ * epochDay (int), categoryId (int), suma efectivă în moneda de bază în bani (long, scale 2).
+ *
+ * Un interval [from, to] = două căutări binare pe days; sumele se fac într-o buclă peste array-uri, fără obiecte
+ * per rând. Rândurile sunt interschimbabile pentru agregări, deci remove/adjust ating orice rând cu aceeași
+ * (zi, categorie[, sumă]), nu neapărat tranzacția exactă.
+ */
+final class UserLedger {
+
+    /** Vizitează rândurile unui interval; apelat sub lock-ul ledger-ului */
+    interface RowVisitor {
+        void visit(int epochDay, int categoryId, long amountMinor);
+    }
+
+    /** Totaluri (bani) și număr de rânduri, indexate după categoryId (id-urile categoriilor sunt mici, IDENTITY) */
+    record CategoryTotals(long[] totals, int[] counts) {
+    }
+
+    private int[] days;
+    private int[] categories;
+    private long[] amounts;
+    private int size;
+    private int maxCategoryId;
+    /** Momentul încărcării (ceasul din LedgerCache), comparat cu începutul scrierilor concurente */
+    private volatile long loadedAt;
+
+    UserLedger() {
+        this.days = new int[16];
+        this.categories = new int[16];
+        this.amounts = new long[16];
+    }
+
+    long loadedAt() {
+        return loadedAt;
+    }
+
+    /** Apelat după ce SELECT-ul de încărcare s-a terminat */
+    void markLoaded(long loadedAt) {
+        this.loadedAt = loadedAt;
+    }
+
+    synchronized int size() {
+        return size;
+    }
+
+    synchronized int maxCategoryId() {
+        return maxCategoryId;
+    }
+
+    /** La încărcare: rândurile vin deja ordonate după dată */
+    synchronized void append(int epochDay, int categoryId, long amountMinor) {
+        if (size > 0 && days[size - 1] > epochDay) {
+            throw new IllegalArgumentException("Rows must be appended in date order");
+        }
+        ensureCapacity(size + 1);
+        set(size++, epochDay, categoryId, amountMinor);
+    }
+
+    synchronized void add(int epochDay, int categoryId, long amountMinor) {
+        ensureCapacity(size + 1);
+        int at = upperBound(epochDay);
+        shift(at, at + 1, size - at);
+        size++;
+        set(at, epochDay, categoryId, amountMinor);
+    }
+
+    /** false dacă rândul nu există (ledger-ul nu mai e sincron cu tabela și trebuie reîncărcat) */
+    synchronized boolean remove(int epochDay, int categoryId, long amountMinor) {
+        for (int i = lowerBound(epochDay); i < size && days[i] == epochDay; i++) {
+            if (categories[i] == categoryId && amounts[i] == amountMinor) {
+                shift(i + 1, i, size - i - 1);
+                size--;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    synchronized boolean adjust(int epochDay, int categoryId, long deltaMinor) {
+        for (int i = lowerBound(epochDay); i < size && days[i] == epochDay; i++) {
+            if (categories[i] == categoryId) {
+                amounts[i] = Math.addExact(amounts[i], deltaMinor);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** Totaluri pe categorie în [fromDay, toDay] */
+    synchronized CategoryTotals sumByCategory(int fromDay, int toDay) {
+        long[] totals = new long[maxCategoryId + 1];
+        int[] counts = new int[maxCategoryId + 1];
+        for (int i = lowerBound(fromDay), end = upperBound(toDay); i < end; i++) {
+            totals[categories[i]] = Math.addExact(totals[categories[i]], amounts[i]);
+            counts[categories[i]]++;
+        }
+        return new CategoryTotals(totals, counts);
+    }
+
+    synchronized void forEach(int fromDay, int toDay, RowVisitor visitor) {
+        for (int i = lowerBound(fromDay), end = upperBound(toDay); i < end; i++) {
+            visitor.visit(days[i], categories[i], amounts[i]);
+        }
+    }
+
+    /** Primul index cu days[i] >= day */
+    private int lowerBound(int day) {
+        int lo = 0;
+        int hi = size;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (days[mid] < day) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    /** Primul index cu days[i] > day */
+    private int upperBound(int day) {
+        int lo = 0;
+        int hi = size;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (days[mid] <= day) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    private void set(int i, int epochDay, int categoryId, long amountMinor) {
+        days[i] = epochDay;
+        categories[i] = categoryId;
+        amounts[i] = amountMinor;
+        maxCategoryId = Math.max(maxCategoryId, categoryId);
+    }
+
+    private void shift(int from, int to, int length) {
+        System.arraycopy(days, from, days, to, length);
+        System.arraycopy(categories, from, categories, to, length);
+        System.arraycopy(amounts, from, amounts, to, length);
+    }
+
+    private void ensureCapacity(int required) {
+        if (required > days.length) {
+            int capacity = Math.max(required, days.length + (days.length >> 1));
+            days = Arrays.copyOf(days, capacity);
+            categories = Arrays.copyOf(categories, capacity);
+            amounts = Arrays.copyOf(amounts, capacity);
+        }
+    }
+}
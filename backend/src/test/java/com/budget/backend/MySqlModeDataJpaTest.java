@@ -0,0 +1,22 @@
+package com.budget.backend;
+
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * @DataJpaTest pe H2 în modul MySQL: query-urile native ale rollup-ului (INSERT ... ON DUPLICATE KEY UPDATE)
+ * rulează la fel ca în producție, deci serviciile care scriu în monthly_category_totals se pot testa fără MySQL.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@DataJpaTest(properties = "spring.datasource.url=jdbc:h2:mem:budget-mysql;MODE=MySQL")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+public @interface MySqlModeDataJpaTest {
+}
@@ -0,0 +1,58 @@
+package com.budget.backend.benchmark;
+
+import com.budget.backend.service.CurrencyConversionService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CurrencyConversionService.convertAmount cu un ExchangeRateClient stub: costul e aritmetica BigDecimal
+ * (multiply + setScale) plus derivarea cursului încrucișat.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CurrencyConversionBenchmark {
+
+    private CurrencyConversionService currencyConversionService;
+    private BigDecimal amount;
+    private BigDecimal rate;
+    private LocalDate date;
+
+    @Setup
+    public void setUp() {
+        currencyConversionService = new CurrencyConversionService(new StubExchangeRateClient());
+        amount = new BigDecimal("1234.56");
+        rate = new BigDecimal("4.9771");
+        date = LocalDate.of(2024, 3, 15);
+    }
+
+    @Benchmark
+    public BigDecimal convertAmountCrossRate() {
+        return currencyConversionService.convertAmount(amount, "USD", "RON", date);
+    }
+
+    @Benchmark
+    public BigDecimal convertAmountSameCurrency() {
+        return currencyConversionService.convertAmount(amount, "RON", "RON", date);
+    }
+
+    @Benchmark
+    public BigDecimal applyRate() {
+        return currencyConversionService.applyRate(amount, rate);
+    }
+}
@@ -0,0 +1,54 @@
+package com.budget.backend.benchmark;
+
+import com.budget.backend.dto.response.CategoryExpenseDTO;
+import com.budget.backend.service.FinancialReportService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * FinancialReportService.formatTopExpenseCategories (sortare + top 5 + formatare pentru prompt).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FinancialReportBenchmark {
+
+    @Param({"9", "200"})
+    private int categories;
+
+    private FinancialReportService financialReportService;
+    private List<CategoryExpenseDTO> expenses;
+
+    @Setup
+    public void setUp() {
+        // formatTopExpenseCategories nu atinge repository-ul sau dashboard-ul
+        financialReportService = new FinancialReportService(null, null);
+        expenses = new ArrayList<>(categories);
+        for (int i = 0; i < categories; i++) {
+            expenses.add(new CategoryExpenseDTO("Category " + i, (long) i + 1,
+                    BigDecimal.valueOf((i * 7919L) % 100_000, 2)));
+        }
+    }
+
+    @Benchmark
+    public String formatTopExpenseCategories() {
+        return financialReportService.formatTopExpenseCategories(expenses);
+    }
+}
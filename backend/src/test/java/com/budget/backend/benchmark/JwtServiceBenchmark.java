@@ -0,0 +1,90 @@
+package com.budget.backend.benchmark;
+
+import com.budget.backend.entity.Role;
+import com.budget.backend.entity.User;
+import com.budget.backend.service.JwtService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Costul autentificării per request în JwtAuthenticationFilter.
+ *
+ * legacyFilterPath reproduce vechiul flux: validate + userId + username + role, fiecare cu
+ * Keys.hmacShaKeyFor și parser construite din nou și semnătura reverificată (4 parsări).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtServiceBenchmark {
+
+    static final String SECRET = "benchmark-secret-key-that-is-long-enough-for-hs256-signing";
+
+    private JwtService jwtService;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtService = new JwtService(SECRET, 86_400_000L, 10_000);
+        User user = new User();
+        user.setId(42L);
+        user.setUsername("benchmark");
+        user.setEmail("benchmark@example.com");
+        user.setRole(Role.USER);
+        token = jwtService.generateToken(user);
+    }
+
+    @Benchmark
+    public void legacyFilterPath(Blackhole bh) {
+        bh.consume(legacyParse(token) != null);
+        bh.consume(legacyParse(token).get(JwtService.CLAIM_USER_ID));
+        bh.consume(legacyParse(token).getSubject());
+        bh.consume(legacyParse(token).get("role"));
+    }
+
+    /** O singură verificare, fără cache (primul request cu un token nou). */
+    @Benchmark
+    public JwtService.VerifiedToken singleParse() {
+        return jwtService.parseAndVerify(token);
+    }
+
+    /** Request-urile următoare cu același token: hash + lookup în cache. */
+    @Benchmark
+    public Object cachedVerify() {
+        return jwtService.verifyToken(token);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        User user = new User();
+        user.setId(42L);
+        user.setUsername("benchmark");
+        user.setEmail("benchmark@example.com");
+        user.setRole(Role.USER);
+        return jwtService.generateToken(user);
+    }
+
+    private static Claims legacyParse(String token) {
+        return Jwts.parser()
+                .verifyWith(Keys.hmacShaKeyFor(SECRET.getBytes()))
+                .build()
+                .parseSignedClaims(token)
+                .getPayload();
+    }
+}
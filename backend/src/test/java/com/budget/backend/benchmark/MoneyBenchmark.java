@@ -0,0 +1,88 @@
+package com.budget.backend.benchmark;
+
+import com.budget.backend.service.Money;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Agregarea a n sume în moneda de bază: BigDecimal (calea veche) față de Money (long în bani).
+ * Rulat cu -prof gc se vede și diferența de alocare.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MoneyBenchmark {
+
+    @Param({"10000"})
+    private int rows;
+
+    private BigDecimal[] amounts;
+    private long[] minors;
+    private BigDecimal rate;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        amounts = new BigDecimal[rows];
+        minors = new long[rows];
+        for (int i = 0; i < rows; i++) {
+            minors[i] = 100 + random.nextInt(1_000_000);
+            amounts[i] = BigDecimal.valueOf(minors[i], 2);
+        }
+        rate = new BigDecimal("4.9771");
+    }
+
+    @Benchmark
+    public BigDecimal sumBigDecimal() {
+        BigDecimal total = BigDecimal.ZERO;
+        for (BigDecimal amount : amounts) {
+            total = total.add(amount);
+        }
+        return total;
+    }
+
+    @Benchmark
+    public long sumMoney() {
+        long total = 0;
+        for (long minor : minors) {
+            total = Math.addExact(total, minor);
+        }
+        return total;
+    }
+
+    /** Conversie + sumă per rând, ca la import sau la re-conversie */
+    @Benchmark
+    public BigDecimal convertAndSumBigDecimal() {
+        BigDecimal total = BigDecimal.ZERO;
+        for (BigDecimal amount : amounts) {
+            total = total.add(amount.multiply(rate).setScale(2, RoundingMode.HALF_UP));
+        }
+        return total;
+    }
+
+    @Benchmark
+    public long convertAndSumMoney() {
+        long total = 0;
+        for (long minor : minors) {
+            total = Math.addExact(total, Money.multiplyByRate(minor, rate));
+        }
+        return total;
+    }
+}
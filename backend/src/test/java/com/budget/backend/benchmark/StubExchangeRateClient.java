@@ -0,0 +1,36 @@
+package com.budget.backend.benchmark;
+
+import com.budget.backend.client.ExchangeRateClient;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Cursuri fixe (față de EUR), fără rețea — benchmark-urile măsoară doar aritmetica și maparea.
+ */
+class StubExchangeRateClient implements ExchangeRateClient {
+
+    static final Map<String, BigDecimal> EUR_RATES = Map.of(
+            "EUR", BigDecimal.ONE,
+            "RON", new BigDecimal("4.9771"),
+            "USD", new BigDecimal("1.0856"),
+            "GBP", new BigDecimal("0.84215"),
+            "CHF", new BigDecimal("0.9427"));
+
+    @Override
+    public Optional<BigDecimal> getExchangeRate(String fromCurrency, String toCurrency, LocalDate date) {
+        BigDecimal from = EUR_RATES.get(fromCurrency);
+        BigDecimal to = EUR_RATES.get(toCurrency);
+        if (from == null || to == null) {
+            return Optional.empty();
+        }
+        return Optional.of(to.divide(from, 10, java.math.RoundingMode.HALF_UP));
+    }
+
+    @Override
+    public Map<String, BigDecimal> getExchangeRates(String baseCurrency, LocalDate date) {
+        return EUR_RATES;
+    }
+}
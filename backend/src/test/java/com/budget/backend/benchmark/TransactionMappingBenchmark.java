@@ -0,0 +1,81 @@
+package com.budget.backend.benchmark;
+
+import com.budget.backend.dto.response.TransactionResponseDTO;
+import com.budget.backend.entity.Category;
+import com.budget.backend.entity.Transaction;
+import com.budget.backend.entity.TransactionType;
+import com.budget.backend.entity.User;
+import com.budget.backend.service.TransactionService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * TransactionService.convertToDTO pe liste mari (echivalentul unei listări complete în memorie).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TransactionMappingBenchmark {
+
+    @Param({"1000", "100000"})
+    private int size;
+
+    private TransactionService transactionService;
+    private List<Transaction> transactions;
+
+    @Setup
+    public void setUp() {
+        // convertToDTO nu folosește repository-urile, deci serviciul poate rămâne fără dependențe
+        transactionService = new TransactionService();
+
+        User user = new User();
+        user.setId(1L);
+        Category[] categories = new Category[14];
+        for (int i = 0; i < categories.length; i++) {
+            categories[i] = new Category((long) i + 1, "Category " + i,
+                    i < 9 ? TransactionType.EXPENSE : TransactionType.INCOME);
+        }
+
+        transactions = new ArrayList<>(size);
+        LocalDate start = LocalDate.of(2020, 1, 1);
+        for (int i = 0; i < size; i++) {
+            Transaction t = new Transaction();
+            t.setId((long) i + 1);
+            t.setDescription("Transaction " + i);
+            t.setAmount(BigDecimal.valueOf(1000 + i % 5000, 2));
+            t.setCurrency(i % 4 == 0 ? "EUR" : "RON");
+            t.setAmountInBaseCurrency(i % 10 == 0 ? BigDecimal.ZERO : BigDecimal.valueOf(4977 + i % 5000, 2));
+            t.setDate(start.plusDays(i % 2000));
+            t.setUser(user);
+            t.setCategory(categories[i % categories.length]);
+            transactions.add(t);
+        }
+    }
+
+    @Benchmark
+    public List<TransactionResponseDTO> mapAll() {
+        List<TransactionResponseDTO> result = new ArrayList<>(transactions.size());
+        for (Transaction t : transactions) {
+            result.add(transactionService.convertToDTO(t));
+        }
+        return result;
+    }
+}
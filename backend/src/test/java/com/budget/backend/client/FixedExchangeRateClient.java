@@ -0,0 +1,53 @@
+package com.budget.backend.client;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Cursuri fixe față de EUR, fără rețea, pentru testele serviciilor care convertesc.
+ * onLookup rulează la fiecare cerere (ex: simulează o scriere concurentă între citire și UPDATE).
+ */
+public class FixedExchangeRateClient implements ExchangeRateClient {
+
+    private final Map<String, BigDecimal> eurRates = new HashMap<>();
+    private final AtomicInteger lookups = new AtomicInteger();
+    private volatile Runnable onLookup = () -> {
+    };
+
+    public FixedExchangeRateClient with(String currency, String eurRate) {
+        eurRates.put(currency, new BigDecimal(eurRate));
+        return this;
+    }
+
+    public void onLookup(Runnable onLookup) {
+        this.onLookup = onLookup;
+    }
+
+    public int lookups() {
+        return lookups.get();
+    }
+
+    @Override
+    public Optional<BigDecimal> getExchangeRate(String fromCurrency, String toCurrency, LocalDate date) {
+        lookups.incrementAndGet();
+        onLookup.run();
+        BigDecimal from = eurRates.get(fromCurrency);
+        BigDecimal to = eurRates.get(toCurrency);
+        if (from == null || to == null) {
+            return Optional.empty();
+        }
+        return Optional.of(to.divide(from, 10, RoundingMode.HALF_UP));
+    }
+
+    @Override
+    public Map<String, BigDecimal> getExchangeRates(String baseCurrency, LocalDate date) {
+        Map<String, BigDecimal> table = new HashMap<>();
+        eurRates.keySet().forEach(c -> getExchangeRate(baseCurrency, c, date).ifPresent(r -> table.put(c, r)));
+        return table;
+    }
+}
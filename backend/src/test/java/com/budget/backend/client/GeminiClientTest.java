@@ -0,0 +1,101 @@
+package com.budget.backend.client;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * streamContent contra unui server HTTP local care imită streamGenerateContent?alt=sse.
+ */
+class GeminiClientTest {
+
+    private HttpServer server;
+    private GeminiClient client;
+    private final AtomicReference<String> requestedPath = new AtomicReference<>();
+    /** Serverul trimite restul evenimentelor abia după ce clientul a primit primul fragment */
+    private final CountDownLatch firstChunkReceived = new CountDownLatch(1);
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.start();
+        // Același tip de client ca în HttpClientConfig (HttpClient JDK, HTTP/2 preferat)
+        HttpClient httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_2).build();
+        RestTemplate restTemplate = new RestTemplate(new JdkClientHttpRequestFactory(httpClient));
+        client = new GeminiClient(restTemplate, JsonMapper.builder().build(), "test-key", "gemini-test",
+                "http://127.0.0.1:" + server.getAddress().getPort());
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void streamContentDeliversChunksBeforeResponseEnds() {
+        server.createContext("/", exchange -> {
+            requestedPath.set(exchange.getRequestURI().toString());
+            exchange.getResponseHeaders().add("Content-Type", "text/event-stream");
+            exchange.sendResponseHeaders(200, 0);
+            try (OutputStream out = exchange.getResponseBody()) {
+                writeEvent(out, "Sfatul 1. ");
+                if (!firstChunkReceived.await(5, TimeUnit.SECONDS)) {
+                    return;
+                }
+                writeEvent(out, "Sfatul 2. ");
+                writeEvent(out, "Concluzie.");
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        List<String> chunks = new CopyOnWriteArrayList<>();
+        String full = client.streamContent("prompt", chunk -> {
+            chunks.add(chunk);
+            firstChunkReceived.countDown();
+        });
+
+        assertEquals(List.of("Sfatul 1. ", "Sfatul 2. ", "Concluzie."), chunks);
+        assertEquals("Sfatul 1. Sfatul 2. Concluzie.", full);
+        assertTrue(requestedPath.get().startsWith("/v1beta/models/gemini-test:streamGenerateContent?key=test-key"));
+        assertTrue(requestedPath.get().contains("alt=sse"));
+    }
+
+    @Test
+    void streamContentFailsOnErrorEvent() {
+        server.createContext("/", exchange -> {
+            exchange.sendResponseHeaders(200, 0);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write("data: {\"error\":{\"message\":\"quota exceeded\"}}\n\n".getBytes(StandardCharsets.UTF_8));
+            }
+        });
+
+        RuntimeException e = assertThrows(RuntimeException.class, () -> client.streamContent("prompt", chunk -> { }));
+        assertEquals("quota exceeded", e.getMessage());
+    }
+
+    private static void writeEvent(OutputStream out, String text) throws IOException {
+        String event = "data: {\"candidates\":[{\"content\":{\"parts\":[{\"text\":\"" + text + "\"}]}}]}\r\n\r\n";
+        out.write(event.getBytes(StandardCharsets.UTF_8));
+        out.flush();
+    }
+}
@@ -0,0 +1,109 @@
+package com.budget.backend.client;
+
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Cu un singur loc per host, al doilea stream Gemini așteaptă până se termină de citit primul.
+ */
+class OutboundHttpLimiterTest {
+
+    private HttpServer server;
+    private ExecutorService serverExecutor;
+    private SimpleMeterRegistry meterRegistry;
+    private GeminiClient client;
+    private final AtomicInteger requests = new AtomicInteger();
+    /** Primul răspuns rămâne deschis (după primul fragment) până la countDown */
+    private final CountDownLatch finishFirst = new CountDownLatch(1);
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        serverExecutor = Executors.newCachedThreadPool();
+        server.setExecutor(serverExecutor);
+        server.createContext("/", exchange -> {
+            boolean first = requests.incrementAndGet() == 1;
+            exchange.sendResponseHeaders(200, 0);
+            try (OutputStream out = exchange.getResponseBody()) {
+                writeEvent(out, first ? "Primul. " : "Al doilea.");
+                if (first && finishFirst.await(5, TimeUnit.SECONDS)) {
+                    writeEvent(out, "Gata.");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        server.start();
+
+        meterRegistry = new SimpleMeterRegistry();
+        // HTTP/1.1: la h2c clientul JDK ține el însuși al doilea request până se termină upgrade-ul primului
+        HttpClient httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        RestTemplate restTemplate = new RestTemplate(new JdkClientHttpRequestFactory(httpClient));
+        restTemplate.getInterceptors().add(new OutboundHttpLimiter(1, Duration.ofSeconds(5), meterRegistry));
+        client = new GeminiClient(restTemplate, JsonMapper.builder().build(), "test-key", "gemini-test",
+                "http://127.0.0.1:" + server.getAddress().getPort());
+    }
+
+    @AfterEach
+    void tearDown() {
+        finishFirst.countDown();
+        server.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    @Test
+    void secondStreamWaitsWhileFirstIsStillBeingRead() throws Exception {
+        CountDownLatch firstChunk = new CountDownLatch(1);
+        CompletableFuture<String> first = CompletableFuture.supplyAsync(
+                () -> client.streamContent("prompt", chunk -> firstChunk.countDown()));
+        assertTrue(firstChunk.await(5, TimeUnit.SECONDS));
+
+        CompletableFuture<String> second = CompletableFuture.supplyAsync(
+                () -> client.streamContent("prompt", chunk -> { }));
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (pending() == 0 && requests.get() < 2 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+
+        assertEquals(1, pending());
+        assertEquals(1, requests.get());
+
+        finishFirst.countDown();
+        assertEquals("Primul. Gata.", first.get(5, TimeUnit.SECONDS));
+        assertEquals("Al doilea.", second.get(5, TimeUnit.SECONDS));
+        assertEquals(2, requests.get());
+        assertEquals(0, meterRegistry.get("http.client.pool.active").gauge().value());
+    }
+
+    private double pending() {
+        return meterRegistry.get("http.client.pool.pending").gauge().value();
+    }
+
+    private static void writeEvent(OutputStream out, String text) throws IOException {
+        String event = "data: {\"candidates\":[{\"content\":{\"parts\":[{\"text\":\"" + text + "\"}]}}]}\r\n\r\n";
+        out.write(event.getBytes(StandardCharsets.UTF_8));
+        out.flush();
+    }
+}
@@ -0,0 +1,190 @@
+package com.budget.backend.client.impl;
+
+import com.budget.backend.MySqlModeDataJpaTest;
+import com.budget.backend.client.RateQuote;
+import com.budget.backend.entity.ExchangeRate;
+import com.budget.backend.repository.ExchangeRateRepository;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Cache-ul de cursuri peste un upstream simulat: câte request-uri ajung la Frankfurter și ce curs
+ * se întoarce când nu răspunde. Fără tranzacția de test: cursurile se salvează în tranzacții proprii.
+ */
+@MySqlModeDataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class CachingExchangeRateClientTest {
+
+    private static final LocalDate PAST_DAY = LocalDate.of(2025, 3, 10);
+
+    @Autowired
+    private ExchangeRateRepository exchangeRateRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final StubFrankfurterClient upstream = new StubFrankfurterClient();
+
+    @AfterEach
+    void tearDown() {
+        exchangeRateRepository.deleteAll();
+    }
+
+    @Test
+    void unknownCurrencyIsNotRequestedAgainWithinMissTtl() {
+        upstream.respondWith(Map.of("EUR", BigDecimal.ONE, "RON", new BigDecimal("5")));
+        CachingExchangeRateClient client = client(Duration.ofMinutes(1));
+
+        assertEquals(Optional.empty(), client.getExchangeRate("XYZ", "RON", PAST_DAY));
+        // Tabelul zilei + o reîmprospătare pentru moneda lipsă
+        assertEquals(2, upstream.requests());
+
+        assertEquals(Optional.empty(), client.getExchangeRate("XYZ", "RON", PAST_DAY));
+        assertEquals(Optional.empty(), client.getExchangeRate("EUR", "XYZ", PAST_DAY));
+        assertEquals(2, upstream.requests());
+        // Monedele cunoscute vin din tabelul zilei
+        assertEquals(0, new BigDecimal("5").compareTo(client.getExchangeRate("EUR", "RON", PAST_DAY).orElseThrow()));
+        assertEquals(2, upstream.requests());
+    }
+
+    @Test
+    void dayWithoutRatesIsRetriedOnlyAfterMissTtl() throws InterruptedException {
+        CachingExchangeRateClient client = client(Duration.ofMillis(200));
+
+        assertEquals(Optional.empty(), client.getExchangeRate("EUR", "RON", PAST_DAY));
+        assertEquals(Map.of(), client.getExchangeRates("EUR", PAST_DAY));
+        assertEquals(Optional.empty(), client.getExchangeRate("RON", "USD", PAST_DAY));
+        assertEquals(1, upstream.requests());
+
+        Thread.sleep(300);
+        upstream.respondWith(Map.of("EUR", BigDecimal.ONE, "RON", new BigDecimal("5")));
+        assertEquals(0, new BigDecimal("5").compareTo(client.getExchangeRate("EUR", "RON", PAST_DAY).orElseThrow()));
+        assertEquals(2, upstream.requests());
+    }
+
+    @Test
+    void failingUpstreamOpensBreakerAndFallsBackToStoredRate() {
+        store(PAST_DAY.minusDays(3), "RON", "4.90");
+        ResilientExchangeRateClient resilient = resilient();
+        CachingExchangeRateClient client = new CachingExchangeRateClient(resilient, exchangeRateRepository,
+                new JdbcTemplate(dataSource), transactionManager, 100, Duration.ofMinutes(10), Duration.ofMinutes(1));
+
+        // Zile diferite: fiecare e o ratare nouă, deci un request
+        for (int i = 0; i < 4; i++) {
+            RateQuote quote = client.getRateQuote("EUR", "RON", PAST_DAY.plusDays(i)).orElseThrow();
+            assertTrue(quote.provisional());
+            assertEquals(0, new BigDecimal("4.90").compareTo(quote.rate()));
+        }
+        assertEquals(CircuitBreaker.State.OPEN, resilient.getState());
+        assertEquals(4, upstream.requests());
+
+        RateQuote quote = client.getRateQuote("EUR", "RON", PAST_DAY.plusDays(10)).orElseThrow();
+        assertTrue(quote.provisional());
+        assertEquals(4, upstream.requests());
+    }
+
+    @Test
+    void fallbackLooksUpEachCurrencyOnItsOwnLatestStoredDay() {
+        // Ziua cea mai recentă are doar RON; USD e salvat doar mai devreme
+        store(PAST_DAY.minusDays(5), "USD", "1.10");
+        store(PAST_DAY.minusDays(5), "RON", "4.90");
+        store(PAST_DAY.minusDays(1), "RON", "5.00");
+        CachingExchangeRateClient client = client(Duration.ofMinutes(1));
+
+        RateQuote quote = client.getRateQuote("USD", "RON", PAST_DAY).orElseThrow();
+        assertTrue(quote.provisional());
+        assertEquals(0, new BigDecimal("5.00").divide(new BigDecimal("1.10"), 10, RoundingMode.HALF_UP)
+                .compareTo(quote.rate()));
+    }
+
+    @Test
+    void latestFallsBackToLastKnownTableWhenUpstreamFails() throws InterruptedException {
+        upstream.respondWith(Map.of("EUR", BigDecimal.ONE, "RON", new BigDecimal("5")));
+        CachingExchangeRateClient client = client(Duration.ofMillis(100), Duration.ofMinutes(1));
+        assertFalse(client.getRateQuote("EUR", "RON", null).orElseThrow().provisional());
+
+        Thread.sleep(200);
+        upstream.respondWith(Map.of());
+        RateQuote quote = client.getRateQuote("EUR", "RON", null).orElseThrow();
+        assertTrue(quote.provisional());
+        assertEquals(0, new BigDecimal("5").compareTo(quote.rate()));
+    }
+
+    @Test
+    void dayStoredConcurrentlyDoesNotBreakCallerTransaction() {
+        upstream.respondWith(Map.of("EUR", BigDecimal.ONE, "RON", new BigDecimal("5"), "USD", new BigDecimal("1.1")));
+        // Altă instanță salvează aceeași zi (o parte din monede) cât așteptăm răspunsul upstream
+        TransactionTemplate other = new TransactionTemplate(transactionManager);
+        other.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        upstream.onRequest(() -> other.executeWithoutResult(status -> store(PAST_DAY, "RON", "5")));
+        CachingExchangeRateClient client = client(Duration.ofMinutes(1));
+
+        // Ca TransactionService: cursul cerut dintr-o tranzacție care scrie și apoi face commit
+        BigDecimal rate = new TransactionTemplate(transactionManager).execute(status ->
+                client.getExchangeRate("EUR", "USD", PAST_DAY).orElseThrow());
+
+        assertEquals(0, new BigDecimal("1.1").compareTo(rate));
+        assertEquals(2, exchangeRateRepository.findByFromCurrencyAndRateDate("EUR", PAST_DAY).size());
+    }
+
+    @Test
+    void storedRatesSurviveCallerRollback() {
+        upstream.respondWith(Map.of("EUR", BigDecimal.ONE, "RON", new BigDecimal("5")));
+        CachingExchangeRateClient client = client(Duration.ofMinutes(1));
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            client.getExchangeRate("EUR", "RON", PAST_DAY).orElseThrow();
+            status.setRollbackOnly();
+        });
+
+        assertEquals(1, exchangeRateRepository.findByFromCurrencyAndRateDate("EUR", PAST_DAY).size());
+    }
+
+    private CachingExchangeRateClient client(Duration missTtl) {
+        return client(Duration.ofMinutes(10), missTtl);
+    }
+
+    private CachingExchangeRateClient client(Duration latestTtl, Duration missTtl) {
+        return new CachingExchangeRateClient(resilient(), exchangeRateRepository, new JdbcTemplate(dataSource),
+                transactionManager, 100, latestTtl, missTtl);
+    }
+
+    /** Fereastră de 4 apeluri, deschis la 50% eșecuri */
+    private ResilientExchangeRateClient resilient() {
+        return new ResilientExchangeRateClient(upstream, 50, Duration.ofSeconds(2), 4, Duration.ofMinutes(1), 10,
+                Duration.ofMillis(100));
+    }
+
+    private void store(LocalDate day, String currency, String rate) {
+        ExchangeRate row = new ExchangeRate();
+        row.setFromCurrency(CachingExchangeRateClient.REFERENCE_CURRENCY);
+        row.setToCurrency(currency);
+        row.setRateDate(day);
+        row.setRate(new BigDecimal(rate));
+        exchangeRateRepository.save(row);
+    }
+}
@@ -0,0 +1,45 @@
+package com.budget.backend.client.impl;
+
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ResilientExchangeRateClientTest {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 3, 10);
+
+    private final StubFrankfurterClient upstream = new StubFrankfurterClient();
+    // Fereastră de 4 apeluri, deschis la 50% eșecuri
+    private final ResilientExchangeRateClient client = new ResilientExchangeRateClient(upstream, 50,
+            Duration.ofSeconds(2), 4, Duration.ofMinutes(1), 10, Duration.ofMillis(100));
+
+    @Test
+    void emptyResponsesOpenTheBreakerAndLaterCallsSkipUpstream() {
+        for (int i = 0; i < 4; i++) {
+            assertEquals(Map.of(), client.getExchangeRates("EUR", DAY));
+        }
+        assertEquals(CircuitBreaker.State.OPEN, client.getState());
+        assertEquals(4, upstream.requests());
+
+        // Deschis: răspunde gol imediat, chiar dacă upstream-ul și-a revenit
+        upstream.respondWith(Map.of("EUR", BigDecimal.ONE, "RON", new BigDecimal("5")));
+        assertEquals(Map.of(), client.getExchangeRates("EUR", DAY));
+        assertEquals(4, upstream.requests());
+    }
+
+    @Test
+    void successfulResponsesKeepTheBreakerClosed() {
+        upstream.respondWith(Map.of("EUR", BigDecimal.ONE, "RON", new BigDecimal("5")));
+        for (int i = 0; i < 6; i++) {
+            assertEquals(2, client.getExchangeRates("EUR", DAY).size());
+        }
+        assertEquals(CircuitBreaker.State.CLOSED, client.getState());
+        assertEquals(6, upstream.requests());
+    }
+}
@@ -0,0 +1,44 @@
+package com.budget.backend.client.impl;
+
+import org.springframework.web.client.RestTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Upstream fără rețea: întoarce tabelul setat (gol = Frankfurter indisponibil) și numără request-urile.
+ * onRequest rulează la fiecare request, înainte de răspuns (ex: altă instanță salvează aceeași zi).
+ */
+class StubFrankfurterClient extends FrankfurterExchangeRateClient {
+
+    private final AtomicInteger requests = new AtomicInteger();
+    private volatile Map<String, BigDecimal> table = Map.of();
+    private volatile Runnable onRequest = () -> {
+    };
+
+    StubFrankfurterClient() {
+        super(new RestTemplate(), "http://frankfurter.invalid");
+    }
+
+    StubFrankfurterClient respondWith(Map<String, BigDecimal> table) {
+        this.table = table;
+        return this;
+    }
+
+    void onRequest(Runnable onRequest) {
+        this.onRequest = onRequest;
+    }
+
+    int requests() {
+        return requests.get();
+    }
+
+    @Override
+    public Map<String, BigDecimal> getExchangeRates(String baseCurrency, LocalDate date) {
+        requests.incrementAndGet();
+        onRequest.run();
+        return table;
+    }
+}
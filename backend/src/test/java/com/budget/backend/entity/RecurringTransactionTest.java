@@ -0,0 +1,41 @@
+package com.budget.backend.entity;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class RecurringTransactionTest {
+
+    private static RecurringTransaction template(RecurrenceFrequency frequency, int interval, LocalDate start, LocalDate end) {
+        RecurringTransaction template = new RecurringTransaction();
+        template.setFrequency(frequency);
+        template.setIntervalCount(interval);
+        template.setStartDate(start);
+        template.setEndDate(end);
+        return template;
+    }
+
+    @Test
+    void monthlyFromMonthEndIsAnchoredOnStartDate() {
+        RecurringTransaction rent = template(RecurrenceFrequency.MONTHLY, 1, LocalDate.of(2024, 1, 31), null);
+
+        assertEquals(LocalDate.of(2024, 1, 31), rent.occurrenceDate(0));
+        assertEquals(LocalDate.of(2024, 2, 29), rent.occurrenceDate(1));
+        // Nu rămâne blocată pe 29 după februarie
+        assertEquals(LocalDate.of(2024, 3, 31), rent.occurrenceDate(2));
+        assertEquals(LocalDate.of(2024, 4, 30), rent.occurrenceDate(3));
+    }
+
+    @Test
+    void intervalAndEndDateAreApplied() {
+        RecurringTransaction biweekly = template(RecurrenceFrequency.WEEKLY, 2, LocalDate.of(2025, 3, 3),
+                LocalDate.of(2025, 3, 31));
+
+        assertEquals(LocalDate.of(2025, 3, 17), biweekly.occurrenceDateWithinEnd(1));
+        assertEquals(LocalDate.of(2025, 3, 31), biweekly.occurrenceDateWithinEnd(2));
+        assertNull(biweekly.occurrenceDateWithinEnd(3));
+    }
+}
@@ -0,0 +1,50 @@
+package com.budget.backend.repository;
+
+import com.budget.backend.dto.response.BudgetUsageDTO;
+import com.budget.backend.entity.CategoryBudget;
+import com.budget.backend.entity.MonthlyCategoryTotal;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jpa.test.autoconfigure.TestEntityManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Cheltuiala bugetului vine din rollup-ul lunii cerute; o lună fără tranzacții înseamnă 0.
+ */
+@DataJpaTest
+class CategoryBudgetRepositoryTest {
+
+    private static final LocalDate MARCH = LocalDate.of(2025, 3, 1);
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private CategoryBudgetRepository categoryBudgetRepository;
+
+    @Test
+    void usageJoinsMonthlyTotalOfRequestedMonth() {
+        entityManager.persist(new CategoryBudget(1L, 10L, new BigDecimal("500.00"), 80));
+        entityManager.persist(new CategoryBudget(1L, 11L, new BigDecimal("100.00"), 90));
+        entityManager.persist(new CategoryBudget(2L, 10L, new BigDecimal("50.00"), 80));
+        entityManager.persist(new MonthlyCategoryTotal(1L, MARCH, 10L, new BigDecimal("420.50"), 3));
+        entityManager.persist(new MonthlyCategoryTotal(1L, MARCH.plusMonths(1), 11L, new BigDecimal("99.00"), 1));
+        entityManager.flush();
+        entityManager.clear();
+
+        List<BudgetUsageDTO> march = categoryBudgetRepository.findUsageByUserId(1L, MARCH);
+
+        assertEquals(2, march.size());
+        assertEquals(0, march.get(0).getSpent().compareTo(new BigDecimal("420.50")));
+        assertEquals(0, march.get(1).getSpent().signum());
+        BudgetUsageDTO april = categoryBudgetRepository.findUsage(1L, 11L, MARCH.plusMonths(1)).orElseThrow();
+        assertEquals(0, april.getSpent().compareTo(new BigDecimal("99.00")));
+        assertEquals(90, april.getAlertThresholdPercent());
+    }
+}
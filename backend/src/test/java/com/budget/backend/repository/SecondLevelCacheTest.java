@@ -0,0 +1,93 @@
+package com.budget.backend.repository;
+
+import com.budget.backend.entity.Category;
+import com.budget.backend.entity.TransactionType;
+import com.budget.backend.entity.User;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * User și Category citite a doua oară (alt persistence context) vin din cache-ul L2, fără SELECT.
+ * Fără tranzacția de test: cache-ul e populat/validat doar după commit, ca în aplicație.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=true",
+        "spring.jpa.properties.hibernate.cache.region.factory_class=jcache",
+        "spring.jpa.properties.hibernate.javax.cache.provider=com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider",
+        "spring.jpa.properties.hibernate.javax.cache.missing_cache_strategy=create"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class SecondLevelCacheTest {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    private User user;
+    private Category food;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        user = new User();
+        user.setUsername("ana");
+        user.setEmail("ana@example.com");
+        user.setPassword("secret");
+        user = userRepository.save(user);
+
+        food = new Category();
+        food.setName("Food");
+        food.setType(TransactionType.EXPENSE);
+        food = categoryRepository.save(food);
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAll();
+        categoryRepository.deleteAll();
+    }
+
+    @Test
+    void userByIdIsServedFromSecondLevelCache() {
+        userRepository.findById(user.getId()).orElseThrow();
+        long statements = statistics.getPrepareStatementCount();
+
+        User cached = userRepository.findById(user.getId()).orElseThrow();
+
+        assertEquals("ana", cached.getUsername());
+        assertEquals(statements, statistics.getPrepareStatementCount());
+        assertTrue(statistics.getDomainDataRegionStatistics(User.CACHE_REGION).getHitCount() > 0);
+    }
+
+    @Test
+    void categoryByIdIsServedFromSecondLevelCache() {
+        categoryRepository.findById(food.getId()).orElseThrow();
+        long statements = statistics.getPrepareStatementCount();
+
+        Category cached = categoryRepository.findById(food.getId()).orElseThrow();
+
+        assertEquals("Food", cached.getName());
+        assertEquals(statements, statistics.getPrepareStatementCount());
+        assertTrue(statistics.getDomainDataRegionStatistics(Category.CACHE_REGION).getHitCount() > 0);
+    }
+}
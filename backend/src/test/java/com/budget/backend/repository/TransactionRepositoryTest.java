@@ -0,0 +1,188 @@
+package com.budget.backend.repository;
+
+import com.budget.backend.dto.response.CategoryTotalDTO;
+import com.budget.backend.dto.response.DailyCategoryTotalDTO;
+import com.budget.backend.dto.response.TransactionResponseDTO;
+import com.budget.backend.entity.Category;
+import com.budget.backend.entity.ConversionStatus;
+import com.budget.backend.entity.Transaction;
+import com.budget.backend.entity.TransactionType;
+import com.budget.backend.entity.User;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jpa.test.autoconfigure.TestEntityManager;
+import org.springframework.data.domain.Limit;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Proiecțiile DTO trebuie să fie exact un SELECT, indiferent câte tranzacții/categorii are utilizatorul.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class TransactionRepositoryTest {
+
+    private static final int TRANSACTION_COUNT = 30;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    private User user;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        user = new User();
+        user.setUsername("ana");
+        user.setEmail("ana@example.com");
+        user.setPassword("secret");
+        entityManager.persist(user);
+
+        Category food = persistCategory("Food", TransactionType.EXPENSE);
+        Category rent = persistCategory("Rent", TransactionType.EXPENSE);
+        Category salary = persistCategory("Salary", TransactionType.INCOME);
+        Category[] categories = {food, rent, salary};
+
+        LocalDate start = LocalDate.of(2025, 1, 1);
+        for (int i = 0; i < TRANSACTION_COUNT; i++) {
+            Transaction t = new Transaction();
+            t.setDescription("tx " + i);
+            t.setAmount(BigDecimal.valueOf(10 + i));
+            t.setCurrency("RON");
+            t.setAmountInBaseCurrency(BigDecimal.valueOf(10 + i));
+            t.setDate(start.plusDays(i / 3));
+            t.setUser(user);
+            t.setCategory(categories[i % categories.length]);
+            entityManager.persist(t);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void findDtosByUserIdIsSingleStatement() {
+        List<TransactionResponseDTO> result = transactionRepository.findDtosByUserId(user.getId());
+
+        assertEquals(TRANSACTION_COUNT, result.size());
+        assertTrue(result.stream().allMatch(dto -> dto.getCategoryName() != null && dto.getCategoryType() != null));
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void keysetPagesAreSingleStatementAndOrdered() {
+        List<TransactionResponseDTO> first = transactionRepository.findFirstPageByUserId(user.getId(), Limit.of(10));
+        TransactionResponseDTO last = first.get(first.size() - 1);
+        List<TransactionResponseDTO> second = transactionRepository.findPageByUserIdAfter(
+                user.getId(), last.getDate(), last.getId(), Limit.of(10));
+
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(10, second.size());
+        TransactionResponseDTO next = second.get(0);
+        assertTrue(next.getDate().isBefore(last.getDate())
+                || (next.getDate().equals(last.getDate()) && next.getId() < last.getId()));
+    }
+
+    @Test
+    void findByIdAndUserIdChecksOwnerInSingleStatement() {
+        Long id = transactionRepository.findDtosByUserId(user.getId()).get(0).getId();
+        statistics.clear();
+
+        assertTrue(transactionRepository.findByIdAndUserId(id, user.getId()).isPresent());
+        assertTrue(transactionRepository.findByIdAndUserId(id, user.getId() + 1).isEmpty());
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void sumByCategoryIsSingleGroupedStatement() {
+        List<CategoryTotalDTO> totals = transactionRepository.sumByCategoryForUserAndDateBetween(
+                user.getId(), LocalDate.of(2025, 1, 1), LocalDate.of(2025, 12, 31));
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(3, totals.size());
+        BigDecimal income = totals.stream()
+                .filter(row -> row.getType() == TransactionType.INCOME)
+                .map(CategoryTotalDTO::getTotalAmount)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        BigDecimal expense = totals.stream()
+                .filter(row -> row.getType() == TransactionType.EXPENSE)
+                .map(CategoryTotalDTO::getTotalAmount)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        assertEquals(0, income.compareTo(BigDecimal.valueOf(255)));
+        assertEquals(0, expense.compareTo(BigDecimal.valueOf(480)));
+    }
+
+    @Test
+    void sumByDayAndCategoryIsSingleGroupedStatement() {
+        List<DailyCategoryTotalDTO> rows = transactionRepository.sumByDayAndCategoryForUserAndDateBetween(
+                user.getId(), LocalDate.of(2025, 1, 1), LocalDate.of(2025, 1, 5));
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        // 5 zile x 3 categorii (câte o tranzacție pe zi și categorie)
+        assertEquals(15, rows.size());
+        assertEquals(LocalDate.of(2025, 1, 1), rows.get(0).getDate());
+        assertEquals(LocalDate.of(2025, 1, 5), rows.get(rows.size() - 1).getDate());
+        BigDecimal total = rows.stream()
+                .map(DailyCategoryTotalDTO::getTotalAmount)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        // tranzacțiile 0..14: 10 + 11 + ... + 24
+        assertEquals(0, total.compareTo(BigDecimal.valueOf(255)));
+    }
+
+    @Test
+    void completeConversionOnlyAppliesToUnchangedPendingRow() {
+        Transaction pending = transactionRepository.findDtosByUserId(user.getId()).stream()
+                .findFirst()
+                .flatMap(dto -> transactionRepository.findById(dto.getId()))
+                .orElseThrow();
+        pending.setCurrency("EUR");
+        pending.setAmountInBaseCurrency(BigDecimal.ZERO);
+        pending.setConversionStatus(ConversionStatus.PENDING);
+        entityManager.flush();
+        entityManager.clear();
+
+        List<Transaction> queue = transactionRepository.findForConversion(
+                Set.of(ConversionStatus.PENDING), 0L, Limit.of(10));
+        assertEquals(1, queue.size());
+        Transaction row = queue.get(0);
+        assertEquals(row.getAmount(), row.effectiveAmountInBase());
+
+        // Suma s-a schimbat între citire și scriere -> nu se aplică
+        int stale = transactionRepository.completeConversion(row.getId(), new BigDecimal("99.00"),
+                ConversionStatus.FINAL, ConversionStatus.PENDING, row.getAmount().add(BigDecimal.ONE),
+                row.getCurrency(), row.getDate(), row.getCategory().getId());
+        int applied = transactionRepository.completeConversion(row.getId(), new BigDecimal("99.00"),
+                ConversionStatus.FINAL, ConversionStatus.PENDING, row.getAmount(),
+                row.getCurrency(), row.getDate(), row.getCategory().getId());
+        entityManager.clear();
+
+        assertEquals(0, stale);
+        assertEquals(1, applied);
+        TransactionResponseDTO converted = transactionRepository.findDtoByIdAndUserId(row.getId(), user.getId()).orElseThrow();
+        assertEquals(0, converted.getAmountInBaseCurrency().compareTo(new BigDecimal("99.00")));
+        assertEquals("FINAL", converted.getConversionStatus());
+        assertTrue(transactionRepository.findForConversion(Set.of(ConversionStatus.PENDING), 0L, Limit.of(10)).isEmpty());
+    }
+
+    private Category persistCategory(String name, TransactionType type) {
+        Category category = new Category();
+        category.setName(name);
+        category.setType(type);
+        return entityManager.persist(category);
+    }
+}
@@ -0,0 +1,190 @@
+package com.budget.backend.service;
+
+import com.budget.backend.MySqlModeDataJpaTest;
+import com.budget.backend.client.FixedExchangeRateClient;
+import com.budget.backend.dto.response.BaseCurrencyChangeJobDTO;
+import com.budget.backend.entity.Category;
+import com.budget.backend.entity.ConversionStatus;
+import com.budget.backend.entity.Transaction;
+import com.budget.backend.entity.TransactionType;
+import com.budget.backend.entity.User;
+import com.budget.backend.repository.CategoryRepository;
+import com.budget.backend.repository.MonthlyCategoryTotalRepository;
+import com.budget.backend.repository.TransactionRepository;
+import com.budget.backend.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Job-ul rulează sincron (executor inline) și fără tranzacția de test: fiecare bucată face commit, ca în aplicație.
+ */
+@MySqlModeDataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class BaseCurrencyChangeServiceTest {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 3, 10);
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private MonthlyCategoryTotalRepository monthlyCategoryTotalRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final FixedExchangeRateClient rates = new FixedExchangeRateClient()
+            .with("EUR", "1").with("RON", "5").with("USD", "1.25");
+    private final AtomicInteger failOnBatch = new AtomicInteger(-1);
+    private JdbcTemplate jdbcTemplate;
+    private MonthlyRollupService rollup;
+    private BaseCurrencyChangeService service;
+    private User user;
+    private Category food;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        // Bucata cu numărul failOnBatch (de la 0) eșuează la UPDATE
+        AtomicInteger batches = new AtomicInteger();
+        JdbcTemplate failingJdbcTemplate = new JdbcTemplate(dataSource) {
+            @Override
+            public int[] batchUpdate(String sql, List<Object[]> batchArgs) {
+                if (batches.getAndIncrement() == failOnBatch.get()) {
+                    throw new DataAccessResourceFailureException("connection lost");
+                }
+                return super.batchUpdate(sql, batchArgs);
+            }
+        };
+        LedgerCache ledgerCache = new LedgerCache(jdbcTemplate, new CategoryRegistry(categoryRepository), false, 1000,
+                Duration.ofMinutes(10));
+        rollup = new MonthlyRollupService(monthlyCategoryTotalRepository, transactionRepository, ledgerCache);
+        // chunk-size 2: fiecare zi (un grup de 2 rânduri) e o bucată separată
+        service = new BaseCurrencyChangeService(userRepository, monthlyCategoryTotalRepository, ledgerCache,
+                new CurrencyConversionService(rates), failingJdbcTemplate, transactionManager,
+                new TaskExecutorAdapter(Runnable::run), 2, Duration.ofMinutes(5));
+
+        user = new User();
+        user.setUsername("ana");
+        user.setEmail("ana@example.com");
+        user.setPassword("secret");
+        user = userRepository.save(user);
+        food = categoryRepository.save(new Category(null, "Food", TransactionType.EXPENSE));
+        for (int day = 0; day < 3; day++) {
+            save("RON", "50.00", "50.00", DAY.plusDays(day));
+            save("RON", "100.00", "100.00", DAY.plusDays(day));
+        }
+        // Monedă fără curs: rămâne PENDING
+        save("XYZ", "7.00", "35.00", DAY);
+        jdbcTemplate.update("INSERT INTO category_budgets (user_id, category_id, monthly_limit, alert_threshold_percent) "
+                + "VALUES (?, ?, 500.00, 80)", user.getId(), food.getId());
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM category_budgets");
+        jdbcTemplate.update("DELETE FROM monthly_category_totals");
+        jdbcTemplate.update("DELETE FROM transactions");
+        jdbcTemplate.update("DELETE FROM users");
+        jdbcTemplate.update("DELETE FROM categories");
+    }
+
+    @Test
+    void convertsEverythingAndReportsProgress() {
+        BaseCurrencyChangeJobDTO job = service.toDTO(service.changeBaseCurrency(user.getId(), "eur"));
+
+        assertEquals("DONE", job.getStatus());
+        assertEquals(7, job.getTotalTransactions());
+        assertEquals(7, job.getProcessedTransactions());
+        assertEquals(1, job.getPendingTransactions());
+        assertEquals(100, job.getPercent());
+        assertEquals("EUR", userRepository.findById(user.getId()).orElseThrow().getBaseCurrency());
+        // 6 rânduri RON: (50 + 100) / 5 pe zi, plus rândul XYZ numărat cu amount (PENDING)
+        assertEquals(1, countWithStatus(ConversionStatus.PENDING));
+        assertEquals(0, rollupTotal().compareTo(new BigDecimal("97.00")));
+        // Limita bugetului e tot în moneda de bază: 500 RON -> 100 EUR
+        assertEquals(0, new BigDecimal("100.00").compareTo(jdbcTemplate.queryForObject(
+                "SELECT monthly_limit FROM category_budgets WHERE user_id = ?", BigDecimal.class, user.getId())));
+    }
+
+    @Test
+    void failedChunkLeavesRowsPendingAndRollupRebuilt() {
+        failOnBatch.set(1);
+
+        BaseCurrencyChangeJobDTO job = service.toDTO(service.changeBaseCurrency(user.getId(), "EUR"));
+
+        assertEquals("FAILED", job.getStatus());
+        assertEquals("connection lost", job.getError());
+        assertEquals(5, job.getProcessedTransactions());
+        assertTrue(job.getPercent() < 100);
+        // Bucata eșuată nu păstrează sumele în RON marcate FINAL
+        assertEquals(3, countWithStatus(ConversionStatus.PENDING));
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM transactions WHERE conversion_status = 'FINAL' AND amount_in_base_currency = amount",
+                Integer.class));
+        // Rollup-ul reconstruit = suma efectivă din tranzacții (rândurile PENDING cu amount)
+        assertEquals(0, rollupTotal().compareTo(effectiveTotal()));
+
+        // Worker-ul de conversie recuperează rândurile rămase
+        new ConversionReconciliationService(transactionRepository, new CurrencyConversionService(rates), rollup,
+                transactionManager, 500).reconcileBatch();
+        assertEquals(1, countWithStatus(ConversionStatus.PENDING));
+        assertEquals(0, rollupTotal().compareTo(new BigDecimal("97.00")));
+        // Job-ul eșuat nu mai blochează o nouă schimbare
+        assertEquals("DONE", service.toDTO(service.changeBaseCurrency(user.getId(), "EUR")).getStatus());
+    }
+
+    private void save(String currency, String amount, String amountInBase, LocalDate date) {
+        Transaction t = new Transaction();
+        t.setDescription("card");
+        t.setAmount(new BigDecimal(amount));
+        t.setCurrency(currency);
+        t.setAmountInBaseCurrency(new BigDecimal(amountInBase));
+        t.setConversionStatus(ConversionStatus.FINAL);
+        t.setDate(date);
+        t.setUser(user);
+        t.setCategory(food);
+        rollup.add(user.getId(), transactionRepository.save(t));
+    }
+
+    private int countWithStatus(ConversionStatus status) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM transactions WHERE conversion_status = ?",
+                Integer.class, status.name());
+    }
+
+    private BigDecimal rollupTotal() {
+        return jdbcTemplate.queryForObject("SELECT SUM(total) FROM monthly_category_totals", BigDecimal.class);
+    }
+
+    private BigDecimal effectiveTotal() {
+        return jdbcTemplate.queryForObject(
+                "SELECT SUM(COALESCE(NULLIF(amount_in_base_currency, 0), amount)) FROM transactions", BigDecimal.class);
+    }
+}
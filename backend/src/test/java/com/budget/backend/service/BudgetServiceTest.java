@@ -0,0 +1,145 @@
+package com.budget.backend.service;
+
+import com.budget.backend.MySqlModeDataJpaTest;
+import com.budget.backend.client.ExchangeRateClient;
+import com.budget.backend.client.FixedExchangeRateClient;
+import com.budget.backend.dto.request.BudgetRequestDTO;
+import com.budget.backend.dto.request.CreateTransactionDTO;
+import com.budget.backend.dto.response.BudgetStatusDTO;
+import com.budget.backend.dto.response.TransactionResponseDTO;
+import com.budget.backend.entity.Category;
+import com.budget.backend.entity.TransactionType;
+import com.budget.backend.entity.User;
+import com.budget.backend.repository.CategoryRepository;
+import com.budget.backend.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Alertele de buget întoarse de TransactionService: doar scrierea care trece pragul (OK -> WARNING -> EXCEEDED).
+ * Buget Food: 100, avertizare de la 80.
+ */
+@MySqlModeDataJpaTest
+@Import({TransactionService.class, BudgetService.class, MonthlyRollupService.class, LedgerCache.class,
+        CategoryRegistry.class, CurrencyConversionService.class, BudgetServiceTest.Rates.class})
+class BudgetServiceTest {
+
+    private static final LocalDate MARCH = LocalDate.of(2025, 3, 10);
+
+    @TestConfiguration
+    static class Rates {
+        @Bean
+        ExchangeRateClient exchangeRateClient() {
+            return new FixedExchangeRateClient().with("EUR", "1").with("RON", "5");
+        }
+    }
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private BudgetService budgetService;
+
+    @Autowired
+    private CategoryRegistry categoryRegistry;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    private Long userId;
+    private Category food;
+    private Category rent;
+    private Category salary;
+
+    @BeforeEach
+    void setUp() {
+        User user = new User();
+        user.setUsername("ana");
+        user.setEmail("ana@example.com");
+        user.setPassword("secret");
+        userId = userRepository.save(user).getId();
+        food = categoryRepository.save(new Category(null, "Food", TransactionType.EXPENSE));
+        rent = categoryRepository.save(new Category(null, "Rent", TransactionType.EXPENSE));
+        salary = categoryRepository.save(new Category(null, "Salary", TransactionType.INCOME));
+        categoryRegistry.refresh();
+        budgetService.setBudget(userId, food.getId(), new BudgetRequestDTO(new BigDecimal("100"), 80));
+    }
+
+    @Test
+    void alertsOnlyWhenCrossingWarningThenLimit() {
+        assertNull(create("70", food, MARCH).getBudgetAlert());
+
+        BudgetStatusDTO warning = create("15", food, MARCH).getBudgetAlert();
+        assertEquals("WARNING", warning.getStatus());
+        assertEquals(0, new BigDecimal("85").compareTo(warning.getSpent()));
+        assertEquals(85, warning.getPercentUsed());
+
+        // Încă sub limită: aceeași stare, fără alertă
+        assertNull(create("5", food, MARCH).getBudgetAlert());
+
+        BudgetStatusDTO exceeded = create("20", food, MARCH).getBudgetAlert();
+        assertEquals("EXCEEDED", exceeded.getStatus());
+        assertEquals(0, new BigDecimal("-10").compareTo(exceeded.getRemaining()));
+    }
+
+    @Test
+    void noAlertWhenAlreadyOverLimit() {
+        assertEquals("EXCEEDED", create("120", food, MARCH).getBudgetAlert().getStatus());
+
+        assertNull(create("5", food, MARCH).getBudgetAlert());
+        // Luna următoare pornește de la zero; alte categorii și veniturile nu ating bugetul
+        assertEquals("WARNING", create("90", food, MARCH.plusMonths(1)).getBudgetAlert().getStatus());
+        assertNull(create("500", rent, MARCH).getBudgetAlert());
+        assertNull(create("500", salary, MARCH).getBudgetAlert());
+    }
+
+    @Test
+    void updateLoweringAmountNeverAlerts() {
+        TransactionResponseDTO created = create("110", food, MARCH);
+
+        // delta negativ: de la EXCEEDED la WARNING, fără alertă
+        assertNull(update(created.getId(), "90", food, MARCH).getBudgetAlert());
+        // Aceeași lună și categorie: contează doar diferența (90 -> 105)
+        assertEquals("EXCEEDED", update(created.getId(), "105", food, MARCH).getBudgetAlert().getStatus());
+    }
+
+    @Test
+    void updateMovingIntoBudgetedMonthOrCategoryCountsFullAmount() {
+        create("70", food, MARCH);
+        TransactionResponseDTO february = create("40", food, MARCH.minusMonths(1));
+        TransactionResponseDTO rentPayment = create("15", rent, MARCH);
+
+        // Din februarie în martie: toată suma intră în luna bugetului (70 -> 110)
+        assertEquals("EXCEEDED", update(february.getId(), "40", food, MARCH).getBudgetAlert().getStatus());
+
+        budgetService.setBudget(userId, food.getId(), new BudgetRequestDTO(new BigDecimal("200"), 80));
+        // Din Rent în Food: 110 -> 125 rămâne sub 160, deci fără alertă; suma nouă se adună integral
+        assertNull(update(rentPayment.getId(), "15", food, MARCH).getBudgetAlert());
+        assertEquals("WARNING", update(rentPayment.getId(), "50", food, MARCH).getBudgetAlert().getStatus());
+    }
+
+    private TransactionResponseDTO create(String amount, Category category, LocalDate date) {
+        return transactionService.createTransaction(request(amount, category, date), userId);
+    }
+
+    private TransactionResponseDTO update(Long id, String amount, Category category, LocalDate date) {
+        return transactionService.updateTransaction(id, request(amount, category, date), userId);
+    }
+
+    private static CreateTransactionDTO request(String amount, Category category, LocalDate date) {
+        return new CreateTransactionDTO("card", new BigDecimal(amount), "RON", date, category.getId());
+    }
+}
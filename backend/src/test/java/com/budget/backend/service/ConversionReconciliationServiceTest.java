@@ -0,0 +1,139 @@
+package com.budget.backend.service;
+
+import com.budget.backend.MySqlModeDataJpaTest;
+import com.budget.backend.client.FixedExchangeRateClient;
+import com.budget.backend.entity.Category;
+import com.budget.backend.entity.ConversionStatus;
+import com.budget.backend.entity.MonthlyCategoryTotal;
+import com.budget.backend.entity.Transaction;
+import com.budget.backend.entity.TransactionType;
+import com.budget.backend.entity.User;
+import com.budget.backend.repository.CategoryRepository;
+import com.budget.backend.repository.MonthlyCategoryTotalRepository;
+import com.budget.backend.repository.TransactionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.jpa.test.autoconfigure.TestEntityManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Rândurile PENDING primesc cursul și statusul FINAL, iar rollup-ul diferența; un rând modificat între citire
+ * și scriere (UPDATE-ul condiționat întoarce 0) rămâne neatins.
+ */
+@MySqlModeDataJpaTest
+class ConversionReconciliationServiceTest {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 3, 10);
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private MonthlyCategoryTotalRepository monthlyCategoryTotalRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final FixedExchangeRateClient rates = new FixedExchangeRateClient().with("EUR", "1").with("RON", "5");
+    private ConversionReconciliationService reconciler;
+    private MonthlyRollupService rollup;
+    private JdbcTemplate jdbcTemplate;
+    private User user;
+    private Category food;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        CategoryRegistry registry = new CategoryRegistry(categoryRepository);
+        LedgerCache ledgerCache = new LedgerCache(jdbcTemplate, registry, false, 1000, Duration.ofMinutes(10));
+        rollup = new MonthlyRollupService(monthlyCategoryTotalRepository, transactionRepository, ledgerCache);
+        reconciler = new ConversionReconciliationService(transactionRepository,
+                new CurrencyConversionService(rates), rollup, transactionManager, 500);
+
+        user = new User();
+        user.setUsername("ana");
+        user.setEmail("ana@example.com");
+        user.setPassword("secret");
+        entityManager.persist(user);
+        food = new Category(null, "Food", TransactionType.EXPENSE);
+        entityManager.persist(food);
+    }
+
+    @Test
+    void pendingRowsAreConvertedAndRollupAdjusted() {
+        Transaction first = persistPending("10.00");
+        Transaction second = persistPending("20.00");
+
+        assertEquals(2, reconciler.reconcileBatch());
+        entityManager.clear();
+
+        assertConverted(first.getId(), "50.00");
+        assertConverted(second.getId(), "100.00");
+        // La salvare rollup-ul a primit amount (10 + 20), apoi diferențele până la 50 + 100
+        assertEquals(0, monthTotal().compareTo(new BigDecimal("150.00")));
+        assertEquals(0, reconciler.reconcileBatch());
+    }
+
+    @Test
+    void rowChangedBetweenReadAndWriteIsLeftAlone() {
+        Transaction edited = persistPending("10.00");
+        Transaction untouched = persistPending("20.00");
+        // Editare concurentă: rândul se schimbă după findForConversion, înainte de completeConversion
+        rates.onLookup(() -> jdbcTemplate.update("UPDATE transactions SET amount = 12.00 WHERE id = ?", edited.getId()));
+
+        assertEquals(1, reconciler.reconcileBatch());
+        entityManager.clear();
+
+        Transaction reloaded = transactionRepository.findById(edited.getId()).orElseThrow();
+        assertEquals(ConversionStatus.PENDING, reloaded.getConversionStatus());
+        assertEquals(0, reloaded.getAmountInBaseCurrency().signum());
+        assertConverted(untouched.getId(), "100.00");
+        assertEquals(0, monthTotal().compareTo(new BigDecimal("110.00")));
+    }
+
+    private Transaction persistPending(String amount) {
+        Transaction t = new Transaction();
+        t.setDescription("card");
+        t.setAmount(new BigDecimal(amount));
+        t.setCurrency("EUR");
+        t.setAmountInBaseCurrency(BigDecimal.ZERO);
+        t.setConversionStatus(ConversionStatus.PENDING);
+        t.setDate(DAY);
+        t.setUser(user);
+        t.setCategory(food);
+        entityManager.persist(t);
+        rollup.add(user.getId(), t);
+        entityManager.flush();
+        return t;
+    }
+
+    private void assertConverted(Long id, String expected) {
+        Transaction t = transactionRepository.findById(id).orElseThrow();
+        assertEquals(ConversionStatus.FINAL, t.getConversionStatus());
+        assertEquals(0, t.getAmountInBaseCurrency().compareTo(new BigDecimal(expected)));
+    }
+
+    private BigDecimal monthTotal() {
+        return monthlyCategoryTotalRepository.findById(
+                new MonthlyCategoryTotal.Key(user.getId(), MonthlyRollupService.monthStart(DAY), food.getId()))
+                .orElseThrow().getTotal();
+    }
+}
@@ -0,0 +1,135 @@
+package com.budget.backend.service;
+
+import com.budget.backend.MySqlModeDataJpaTest;
+import com.budget.backend.dto.response.CategoryExpenseDTO;
+import com.budget.backend.dto.response.CategoryTotalDTO;
+import com.budget.backend.dto.response.DashboardStatisticsDTO;
+import com.budget.backend.entity.Category;
+import com.budget.backend.entity.ConversionStatus;
+import com.budget.backend.entity.Transaction;
+import com.budget.backend.entity.TransactionType;
+import com.budget.backend.entity.User;
+import com.budget.backend.repository.CategoryRepository;
+import com.budget.backend.repository.MonthlyCategoryTotalRepository;
+import com.budget.backend.repository.TransactionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.jpa.test.autoconfigure.TestEntityManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Lunile întregi din rollup + zilele parțiale de la capete din tranzacții = agregarea directă pe tot intervalul.
+ */
+@MySqlModeDataJpaTest
+class DashboardServiceTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private MonthlyCategoryTotalRepository monthlyCategoryTotalRepository;
+
+    private DashboardService dashboardService;
+    private MonthlyRollupService rollup;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        LedgerCache ledgerCache = new LedgerCache(new JdbcTemplate(dataSource), new CategoryRegistry(categoryRepository),
+                false, 1000, Duration.ofMinutes(10));
+        rollup = new MonthlyRollupService(monthlyCategoryTotalRepository, transactionRepository, ledgerCache);
+        dashboardService = new DashboardService(transactionRepository, monthlyCategoryTotalRepository, ledgerCache, 1000);
+
+        user = new User();
+        user.setUsername("ana");
+        user.setEmail("ana@example.com");
+        user.setPassword("secret");
+        entityManager.persist(user);
+        Category[] categories = {
+                entityManager.persist(new Category(null, "Food", TransactionType.EXPENSE)),
+                entityManager.persist(new Category(null, "Rent", TransactionType.EXPENSE)),
+                entityManager.persist(new Category(null, "Salary", TransactionType.INCOME))
+        };
+
+        Random random = new Random(7);
+        LocalDate day = LocalDate.of(2024, 12, 1);
+        for (int i = 0; day.isBefore(LocalDate.of(2025, 6, 1)); i++, day = day.plusDays(1)) {
+            Transaction t = new Transaction();
+            t.setDescription("tx " + i);
+            t.setAmount(BigDecimal.valueOf(100 + random.nextInt(100_000), 2));
+            t.setCurrency("RON");
+            // Fiecare a cincea încă neconvertită: contează cu amount, în rollup ca și în agregarea directă
+            boolean pending = i % 5 == 0;
+            t.setAmountInBaseCurrency(pending ? BigDecimal.ZERO : t.getAmount().multiply(new BigDecimal("1.5")));
+            t.setConversionStatus(pending ? ConversionStatus.PENDING : ConversionStatus.FINAL);
+            t.setDate(day);
+            t.setUser(user);
+            t.setCategory(categories[i % categories.length]);
+            entityManager.persist(t);
+        }
+        entityManager.flush();
+        entityManager.clear();
+        rollup.initializeRollup();
+    }
+
+    @Test
+    void rangeStartingAndEndingMidMonthMatchesRawTotals() {
+        assertMatchesRawTotals(LocalDate.of(2025, 1, 20), LocalDate.of(2025, 4, 10));
+        // Doar luni întregi (fără capete) și un interval fără nicio lună întreagă
+        assertMatchesRawTotals(LocalDate.of(2025, 2, 1), LocalDate.of(2025, 3, 31));
+        assertMatchesRawTotals(LocalDate.of(2025, 1, 20), LocalDate.of(2025, 2, 10));
+    }
+
+    @Test
+    void secondRebuildDoesNotDoubleCount() {
+        rollup.initializeRollup();
+        assertEquals(0, monthlyCategoryTotalRepository.rebuildAll());
+
+        assertMatchesRawTotals(LocalDate.of(2024, 12, 15), LocalDate.of(2025, 5, 15));
+    }
+
+    private void assertMatchesRawTotals(LocalDate from, LocalDate to) {
+        BigDecimal income = BigDecimal.ZERO;
+        BigDecimal expense = BigDecimal.ZERO;
+        Map<Long, BigDecimal> expectedExpenses = new TreeMap<>();
+        for (CategoryTotalDTO row : transactionRepository.sumByCategoryForUserAndDateBetween(user.getId(), from, to)) {
+            if (row.getType() == TransactionType.INCOME) {
+                income = income.add(row.getTotalAmount());
+            } else {
+                expense = expense.add(row.getTotalAmount());
+                expectedExpenses.put(row.getCategoryId(), row.getTotalAmount());
+            }
+        }
+
+        DashboardStatisticsDTO stats = dashboardService.getStatistics(user.getId(), from, to);
+
+        assertEquals(0, stats.getTotalIncome().compareTo(income), from + ".." + to);
+        assertEquals(0, stats.getTotalExpense().compareTo(expense), from + ".." + to);
+        Map<Long, BigDecimal> actualExpenses = new TreeMap<>();
+        for (CategoryExpenseDTO row : stats.getExpensesByCategory()) {
+            actualExpenses.put(row.getCategoryId(), row.getTotalAmount().stripTrailingZeros());
+        }
+        expectedExpenses.replaceAll((id, amount) -> amount.stripTrailingZeros());
+        assertEquals(expectedExpenses, actualExpenses, from + ".." + to);
+    }
+}
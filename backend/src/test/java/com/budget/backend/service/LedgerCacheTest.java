@@ -0,0 +1,167 @@
+package com.budget.backend.service;
+
+import com.budget.backend.MySqlModeDataJpaTest;
+import com.budget.backend.dto.response.CategoryTotalDTO;
+import com.budget.backend.entity.Category;
+import com.budget.backend.entity.ConversionStatus;
+import com.budget.backend.entity.Transaction;
+import com.budget.backend.entity.TransactionType;
+import com.budget.backend.entity.User;
+import com.budget.backend.repository.CategoryRepository;
+import com.budget.backend.repository.TransactionRepository;
+import com.budget.backend.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Scrieri care se suprapun cu încărcarea unui ledger: rezultatul final trebuie să numere fiecare rând o singură dată.
+ * Fără tranzacția de test: hook-urile din LedgerCache rulează după commit, ca în aplicație.
+ */
+@MySqlModeDataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class LedgerCacheTest {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 3, 10);
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    /** Rulat o singură dată, imediat după SELECT-ul de încărcare al ledger-ului */
+    private final AtomicReference<Runnable> afterLoadQuery = new AtomicReference<>();
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transactionTemplate;
+    private CategoryRegistry registry;
+    private User user;
+    private Category food;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        registry = new CategoryRegistry(categoryRepository);
+
+        user = new User();
+        user.setUsername("ana");
+        user.setEmail("ana@example.com");
+        user.setPassword("secret");
+        user = userRepository.save(user);
+        food = categoryRepository.save(new Category(null, "Food", TransactionType.EXPENSE));
+        insert("10.00");
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM transactions");
+        jdbcTemplate.update("DELETE FROM users");
+        jdbcTemplate.update("DELETE FROM categories");
+    }
+
+    @Test
+    void writeCommittedWhileLoadingIsNotLost() {
+        LedgerCache ledgerCache = ledgerCache(Duration.ofMinutes(10));
+        // SELECT-ul a citit deja datele vechi când scrierea face commit
+        afterLoadQuery.set(() -> transactionTemplate.executeWithoutResult(status ->
+                ledgerCache.recordAdd(user.getId(), DAY, food.getId(), insert("5.00").getAmountInBaseCurrency())));
+
+        assertEquals(new BigDecimal("10.00"), total(ledgerCache));
+        // Snapshot-ul fără rândul nou nu s-a instalat: următoarea citire reîncarcă
+        assertEquals(new BigDecimal("15.00"), total(ledgerCache));
+    }
+
+    @Test
+    void writeStartedBeforeLoadIsNotAppliedTwice() {
+        LedgerCache ledgerCache = ledgerCache(Duration.ofMinutes(10));
+
+        AtomicReference<BigDecimal> loadedBetween = new AtomicReference<>();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            // Încărcat după commit, dar înainte ca hook-ul scrierii (afterCompletion) să ruleze: vede deja rândul
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    loadedBetween.set(total(ledgerCache));
+                }
+            });
+            ledgerCache.recordAdd(user.getId(), DAY, food.getId(), insert("5.00").getAmountInBaseCurrency());
+        });
+
+        assertEquals(new BigDecimal("15.00"), loadedBetween.get());
+        assertEquals(new BigDecimal("15.00"), total(ledgerCache));
+    }
+
+    @Test
+    void writesFromAnotherInstanceShowUpAfterTtl() throws InterruptedException {
+        LedgerCache ledgerCache = ledgerCache(Duration.ofSeconds(1));
+        assertEquals(new BigDecimal("10.00"), total(ledgerCache));
+
+        // Scris fără hook-uri, ca de pe altă instanță
+        insert("5.00");
+        assertEquals(new BigDecimal("10.00"), total(ledgerCache));
+
+        Thread.sleep(1100);
+        assertEquals(new BigDecimal("15.00"), total(ledgerCache));
+    }
+
+    private LedgerCache ledgerCache(Duration ttl) {
+        JdbcTemplate loadTemplate = new JdbcTemplate(dataSource) {
+            @Override
+            public void query(String sql, RowCallbackHandler rch, Object... args) {
+                super.query(sql, rch, args);
+                Runnable hook = afterLoadQuery.getAndSet(null);
+                if (hook != null) {
+                    hook.run();
+                }
+            }
+        };
+        return new LedgerCache(loadTemplate, registry, true, 1000, ttl);
+    }
+
+    private BigDecimal total(LedgerCache ledgerCache) {
+        return ledgerCache.sumByCategory(user.getId(), DAY.withDayOfMonth(1), DAY.plusDays(5)).orElseThrow().stream()
+                .map(CategoryTotalDTO::getTotalAmount)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+
+    private Transaction insert(String amount) {
+        Transaction t = new Transaction();
+        t.setDescription("card");
+        t.setAmount(new BigDecimal(amount));
+        t.setCurrency("RON");
+        t.setAmountInBaseCurrency(new BigDecimal(amount));
+        t.setConversionStatus(ConversionStatus.FINAL);
+        t.setDate(DAY);
+        t.setUser(user);
+        t.setCategory(food);
+        return transactionRepository.save(t);
+    }
+}
@@ -0,0 +1,45 @@
+package com.budget.backend.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class MoneyTest {
+
+    @Test
+    void multiplyByRateMatchesBigDecimalHalfUp() {
+        Random random = new Random(42);
+        for (int i = 0; i < 100_000; i++) {
+            long minor = random.nextLong() % 100_000_000_000L;
+            BigDecimal rate = BigDecimal.valueOf(random.nextInt(1_000_000_000), 4 + random.nextInt(8)); // cursuri sub 100000
+            BigDecimal expected = BigDecimal.valueOf(minor, 2).multiply(rate).setScale(2, RoundingMode.HALF_UP);
+
+            assertEquals(expected, Money.toBigDecimal(Money.multiplyByRate(minor, rate)), minor + " * " + rate);
+        }
+    }
+
+    @Test
+    void halfUpRoundsAwayFromZero() {
+        BigDecimal half = new BigDecimal("0.5");
+        assertEquals(1L, Money.multiplyByRate(1, half));
+        assertEquals(-1L, Money.multiplyByRate(-1, half));
+        assertEquals(0L, Money.multiplyByRate(1, new BigDecimal("0.4999")));
+    }
+
+    @Test
+    void conversionIsExactAndOverflowIsChecked() {
+        assertEquals(123456L, Money.of(new BigDecimal("1234.56")).minor());
+        assertEquals(new BigDecimal("1234.50"), Money.of(new BigDecimal("1234.5")).toBigDecimal());
+        assertThrows(ArithmeticException.class, () -> Money.of(new BigDecimal("0.001")));
+        assertThrows(ArithmeticException.class, () -> new Money(Long.MAX_VALUE).plus(new Money(1)));
+        // produsul nu încape în long: calea exactă, apoi rezultatul prea mare e respins
+        assertEquals(Money.toMinor(new BigDecimal("92233720368547758.07")),
+                Money.multiplyByRate(Long.MAX_VALUE, BigDecimal.ONE));
+        assertThrows(ArithmeticException.class, () -> Money.multiplyByRate(Long.MAX_VALUE, new BigDecimal("1.5")));
+    }
+}
@@ -0,0 +1,180 @@
+package com.budget.backend.service;
+
+import com.budget.backend.MySqlModeDataJpaTest;
+import com.budget.backend.client.FixedExchangeRateClient;
+import com.budget.backend.entity.Category;
+import com.budget.backend.entity.RecurrenceFrequency;
+import com.budget.backend.entity.RecurringTransaction;
+import com.budget.backend.entity.TransactionType;
+import com.budget.backend.entity.User;
+import com.budget.backend.repository.CategoryRepository;
+import com.budget.backend.repository.MonthlyCategoryTotalRepository;
+import com.budget.backend.repository.RecurringTransactionRepository;
+import com.budget.backend.repository.TransactionRepository;
+import com.budget.backend.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Treceri ale scheduler-ului pe H2 (modul MySQL, pentru UPSERT-ul din rollup), cu commit real per lot.
+ */
+@MySqlModeDataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class RecurringTransactionSchedulerTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2025, 4, 20);
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private MonthlyCategoryTotalRepository monthlyCategoryTotalRepository;
+
+    @Autowired
+    private RecurringTransactionRepository recurringTransactionRepository;
+
+    private final FixedExchangeRateClient rates = new FixedExchangeRateClient().with("EUR", "1").with("RON", "5");
+    private JdbcTemplate jdbcTemplate;
+    private MonthlyRollupService rollup;
+    private User user;
+    private Category subscriptions;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        LedgerCache ledgerCache = new LedgerCache(jdbcTemplate, new CategoryRegistry(categoryRepository), false, 1000,
+                Duration.ofMinutes(10));
+        rollup = new MonthlyRollupService(monthlyCategoryTotalRepository, transactionRepository, ledgerCache);
+
+        user = new User();
+        user.setUsername("ana");
+        user.setEmail("ana@example.com");
+        user.setPassword("secret");
+        user = userRepository.save(user);
+        subscriptions = categoryRepository.save(new Category(null, "Subscriptions", TransactionType.EXPENSE));
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM monthly_category_totals");
+        jdbcTemplate.update("DELETE FROM transactions");
+        jdbcTemplate.update("DELETE FROM " + RecurringTransaction.TABLE);
+        jdbcTemplate.update("DELETE FROM users");
+        jdbcTemplate.update("DELETE FROM categories");
+    }
+
+    @Test
+    void secondPassForSameDayCreatesNothing() {
+        RecurringTransaction rent = template(RecurrenceFrequency.MONTHLY, "RON", "100.00", LocalDate.of(2025, 1, 15));
+        template(RecurrenceFrequency.MONTHLY, "EUR", "10.00", LocalDate.of(2025, 1, 1));
+        RecurringTransactionScheduler scheduler = scheduler(500, 366);
+
+        assertEquals(8, scheduler.materializeDue(TODAY));
+        assertEquals(0, scheduler.materializeDue(TODAY));
+
+        assertEquals(8, count("SELECT COUNT(*) FROM transactions"));
+        RecurringTransaction advanced = recurringTransactionRepository.findById(rent.getId()).orElseThrow();
+        assertEquals(4, advanced.getOccurrenceCount());
+        assertEquals(LocalDate.of(2025, 4, 15), advanced.getLastRunDate());
+        assertEquals(LocalDate.of(2025, 5, 15), advanced.getNextRunDate());
+        assertEquals(rent.getVersion() + 1, advanced.getVersion());
+        // Un UPSERT per (lună, categorie): 100 RON + 10 EUR * 5 în fiecare lună, câte 2 tranzacții
+        List<Map<String, Object>> months = jdbcTemplate.queryForList(
+                "SELECT total, tx_count FROM monthly_category_totals WHERE user_id = ? ORDER BY month_start",
+                user.getId());
+        assertEquals(4, months.size());
+        for (Map<String, Object> month : months) {
+            assertEquals(0, new BigDecimal("150.00").compareTo((BigDecimal) month.get("total")));
+            assertEquals(2L, ((Number) month.get("tx_count")).longValue());
+        }
+    }
+
+    @Test
+    void templateBehindByMoreThanOneRunCatchesUpInSamePass() {
+        // 10 apariții zilnice, câte cel mult 3 per lot: șablonul reapare după cursor până ajunge la zi
+        RecurringTransaction coffee = template(RecurrenceFrequency.DAILY, "RON", "12.00", TODAY.minusDays(9));
+        template(RecurrenceFrequency.WEEKLY, "RON", "50.00", TODAY.minusWeeks(2));
+        RecurringTransactionScheduler scheduler = scheduler(1, 3);
+
+        assertEquals(13, scheduler.materializeDue(TODAY));
+
+        assertEquals(10, count("SELECT COUNT(DISTINCT date) FROM transactions WHERE amount = 12.00"));
+        assertEquals(TODAY.plusDays(1), recurringTransactionRepository.findById(coffee.getId()).orElseThrow().getNextRunDate());
+        assertEquals(0, scheduler.materializeDue(TODAY));
+    }
+
+    @Test
+    void templateChangedAfterReadIsSkipped() {
+        RecurringTransaction netflix = template(RecurrenceFrequency.MONTHLY, "EUR", "10.00", TODAY);
+        RecurringTransactionScheduler scheduler = scheduler(500, 366);
+        // Editat (sau procesat de altă instanță) între citire și lock: cursurile se cer exact între cele două
+        rates.onLookup(() -> {
+            rates.onLookup(() -> {
+            });
+            jdbcTemplate.update("UPDATE " + RecurringTransaction.TABLE + " SET version = version + 1 WHERE id = ?",
+                    netflix.getId());
+        });
+
+        assertEquals(0, scheduler.materializeDue(TODAY));
+        assertEquals(0, count("SELECT COUNT(*) FROM transactions"));
+
+        assertEquals(1, scheduler.materializeDue(TODAY));
+        assertEquals(0, new BigDecimal("50.00").compareTo(jdbcTemplate.queryForObject(
+                "SELECT amount_in_base_currency FROM transactions", BigDecimal.class)));
+    }
+
+    private RecurringTransactionScheduler scheduler(int batchSize, int maxOccurrencesPerRun) {
+        return new RecurringTransactionScheduler(new CurrencyConversionService(rates), rollup, entityManager,
+                jdbcTemplate, transactionManager, batchSize, maxOccurrencesPerRun, false);
+    }
+
+    private RecurringTransaction template(RecurrenceFrequency frequency, String currency, String amount, LocalDate start) {
+        RecurringTransaction t = new RecurringTransaction();
+        t.setUserId(user.getId());
+        t.setCategoryId(subscriptions.getId());
+        t.setDescription(frequency + " " + currency);
+        t.setAmount(new BigDecimal(amount));
+        t.setCurrency(currency);
+        t.setFrequency(frequency);
+        t.setIntervalCount(1);
+        t.setStartDate(start);
+        t.setOccurrenceCount(0);
+        t.setNextRunDate(start);
+        return recurringTransactionRepository.save(t);
+    }
+
+    private int count(String sql) {
+        return jdbcTemplate.queryForObject(sql, Integer.class);
+    }
+}
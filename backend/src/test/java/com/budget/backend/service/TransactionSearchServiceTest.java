@@ -0,0 +1,163 @@
+package com.budget.backend.service;
+
+import com.budget.backend.config.TransactionSearchIndexInitializer;
+import com.budget.backend.dto.request.TransactionSearchDTO;
+import com.budget.backend.dto.response.TransactionPageDTO;
+import com.budget.backend.dto.response.TransactionResponseDTO;
+import com.budget.backend.entity.Category;
+import com.budget.backend.entity.Transaction;
+import com.budget.backend.entity.TransactionType;
+import com.budget.backend.entity.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jpa.test.autoconfigure.TestEntityManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Calea fără FULLTEXT (H2): fiecare cuvânt trebuie să înceapă un cuvânt din descriere, ca pe MySQL;
+ * filtrele se combină, paginarea e keyset.
+ */
+@DataJpaTest
+class TransactionSearchServiceTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private TransactionSearchService searchService;
+    private User user;
+    private Category subscriptions;
+    private Category food;
+
+    @BeforeEach
+    void setUp() {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        TransactionSearchIndexInitializer index = new TransactionSearchIndexInitializer(jdbcTemplate, true, true);
+        index.ensureFullTextIndex();
+        searchService = new TransactionSearchService(jdbcTemplate, index);
+
+        user = persistUser("ana");
+        User other = persistUser("ion");
+        subscriptions = persistCategory("Subscriptions");
+        food = persistCategory("Food");
+
+        LocalDate start = LocalDate.of(2025, 1, 1);
+        for (int i = 0; i < 5; i++) {
+            persist(user, subscriptions, "Abonament Netflix " + i, new BigDecimal("50.00"), start.plusMonths(i));
+        }
+        persist(user, subscriptions, "Abonament Spotify", new BigDecimal("25.00"), start);
+        persist(user, food, "Netflix snacks", new BigDecimal("80.00"), start);
+        persist(user, food, "Cafea la birou (TV-room)", new BigDecimal("12.00"), start);
+        persist(other, subscriptions, "Abonament Netflix", new BigDecimal("50.00"), start);
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void allTermsMustMatchAsPrefixAndResultsArePaged() {
+        TransactionSearchDTO filter = new TransactionSearchDTO();
+        filter.setQ("abon NETFLIX");
+
+        TransactionPageDTO first = searchService.search(user.getId(), filter, null, 3);
+        assertEquals(3, first.getItems().size());
+        assertTrue(first.isHasMore());
+        TransactionPageDTO second = searchService.search(user.getId(), filter, first.getNextCursor(), 3);
+        assertEquals(2, second.getItems().size());
+        assertFalse(second.isHasMore());
+
+        List<String> descriptions = second.getItems().stream().map(TransactionResponseDTO::getDescription).toList();
+        assertEquals(List.of("Abonament Netflix 1", "Abonament Netflix 0"), descriptions);
+    }
+
+    @Test
+    void filtersAreCombined() {
+        TransactionSearchDTO filter = new TransactionSearchDTO();
+        filter.setQ("netflix");
+        filter.setCategoryId(food.getId());
+        assertEquals(1, searchService.search(user.getId(), filter, null, null).getItems().size());
+
+        filter.setCategoryId(subscriptions.getId());
+        filter.setFrom(LocalDate.of(2025, 2, 1));
+        filter.setTo(LocalDate.of(2025, 3, 31));
+        filter.setMaxAmount(new BigDecimal("50.00"));
+        assertEquals(2, searchService.search(user.getId(), filter, null, null).getItems().size());
+    }
+
+    @Test
+    void termsMatchOnlyAtWordStart() {
+        assertEquals(6, search("net").size());
+        assertEquals(0, search("flix").size());
+        assertEquals(0, search("nament").size());
+    }
+
+    @Test
+    void shortTermsAndStopwordsStillMatch() {
+        // "la" e stopword InnoDB, "tv" e sub innodb_ft_min_token_size: MATCH nu le-ar găsi
+        assertEquals(List.of("Cafea la birou (TV-room)"), search("cafea la").stream()
+                .map(TransactionResponseDTO::getDescription).toList());
+        assertEquals(1, search("tv room").size());
+        assertEquals(0, search("la netflix").size());
+    }
+
+    @Test
+    void shortTermsAndStopwordsAreNotIndexed() {
+        TransactionSearchIndexInitializer index = new TransactionSearchIndexInitializer(new JdbcTemplate(dataSource), false, false);
+
+        assertFalse(index.isIndexed("tv"));
+        assertFalse(index.isIndexed("de"));
+        assertFalse(index.isIndexed("the"));
+        assertTrue(index.isIndexed("net"));
+        assertTrue(index.isIndexed("netflix"));
+    }
+
+    @Test
+    void operatorsAreStrippedFromTerms() {
+        assertEquals(List.of("netflix", "abon"), TransactionSearchService.terms("+netflix* -\"abon%\""));
+    }
+
+    private List<TransactionResponseDTO> search(String q) {
+        TransactionSearchDTO filter = new TransactionSearchDTO();
+        filter.setQ(q);
+        return searchService.search(user.getId(), filter, null, null).getItems();
+    }
+
+    private User persistUser(String name) {
+        User u = new User();
+        u.setUsername(name);
+        u.setEmail(name + "@example.com");
+        u.setPassword("secret");
+        return entityManager.persist(u);
+    }
+
+    private Category persistCategory(String name) {
+        Category c = new Category();
+        c.setName(name);
+        c.setType(TransactionType.EXPENSE);
+        return entityManager.persist(c);
+    }
+
+    private void persist(User owner, Category category, String description, BigDecimal amount, LocalDate date) {
+        Transaction t = new Transaction();
+        t.setDescription(description);
+        t.setAmount(amount);
+        t.setCurrency("RON");
+        t.setAmountInBaseCurrency(amount);
+        t.setDate(date);
+        t.setUser(owner);
+        t.setCategory(category);
+        entityManager.persist(t);
+    }
+}
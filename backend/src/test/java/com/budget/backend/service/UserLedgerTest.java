@@ -0,0 +1,55 @@
+package com.budget.backend.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class UserLedgerTest {
+
+    @Test
+    void rangeSumsUseInclusiveDayBounds() {
+        UserLedger ledger = new UserLedger();
+        for (int day = 0; day < 100; day++) {
+            ledger.append(day, 1 + day % 2, 100L * day);
+        }
+
+        UserLedger.CategoryTotals totals = ledger.sumByCategory(10, 19);
+
+        // zile pare (10..18) -> categoria 1, impare (11..19) -> categoria 2
+        assertEquals(7000L, totals.totals()[1]);
+        assertEquals(7500L, totals.totals()[2]);
+        assertArrayEquals(new int[]{0, 5, 5}, totals.counts());
+    }
+
+    @Test
+    void writesKeepRowsOrderedByDay() {
+        UserLedger ledger = new UserLedger();
+        ledger.append(5, 1, 500);
+        ledger.append(9, 1, 900);
+        for (int i = 0; i < 40; i++) {
+            ledger.add(7, 2, 10);
+        }
+        ledger.add(1, 3, 100);
+
+        assertTrue(ledger.remove(7, 2, 10));
+        assertFalse(ledger.remove(7, 2, 11));
+        assertTrue(ledger.adjust(9, 1, -400));
+        assertFalse(ledger.adjust(8, 1, 1));
+
+        List<Integer> days = new ArrayList<>();
+        ledger.forEach(Integer.MIN_VALUE, Integer.MAX_VALUE, (day, category, amount) -> days.add(day));
+        assertEquals(42, days.size());
+        assertEquals(days.stream().sorted().toList(), days);
+
+        UserLedger.CategoryTotals totals = ledger.sumByCategory(0, 9);
+        assertEquals(1000L, totals.totals()[1]);
+        assertEquals(390L, totals.totals()[2]);
+        assertEquals(100L, totals.totals()[3]);
+    }
+}